@@ -0,0 +1,53 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.domain.VerificationToken;
+
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(final int id) {
+        final User user = User.builder()
+                .userId(id)
+                .firstName("First" + id)
+                .lastName("Last" + id)
+                .imageUrl("https://bootdey.com/img/Content/avatar/avatar" + (id % 8) + ".png")
+                .email("user" + id + "@example.com")
+                .phone("+21622" + id)
+                .build();
+        final Credential credential = Credential.builder()
+                .credentialId(id)
+                .username("user" + id)
+                .password("$2a$04$/S7cWjHPZul03sPEivycWeKTBvLyjYdaRWmeaFbiqKy9es/3W4QB6")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                .isEnabled(true)
+                .isAccountNonExpired(true)
+                .isAccountNonLocked(true)
+                .isCredentialsNonExpired(true)
+                .user(user)
+                .build();
+        final Set<VerificationToken> verificationTokens = new HashSet<>();
+        verificationTokens.add(verificationToken(id, credential));
+        credential.setVerificationTokens(verificationTokens);
+        user.setCredential(credential);
+        return user;
+    }
+
+    static VerificationToken verificationToken(final int id, final Credential credential) {
+        return VerificationToken.builder()
+                .verificationTokenId(id)
+                .token("token-" + id)
+                .expireDate(LocalDate.of(2030, 1, 1))
+                .credential(credential)
+                .build();
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.domain.VerificationToken;
+import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.VerificationTokenDto;
+import com.selimhorri.app.helper.CredentialMappingHelper;
+import com.selimhorri.app.helper.UserMappingHelper;
+import com.selimhorri.app.helper.VerificationTokenMappingHelper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingHelperBenchmark {
+
+    private User user;
+    private UserDto userDto;
+    private Credential credential;
+    private CredentialDto credentialDto;
+    private VerificationToken verificationToken;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user(1);
+        userDto = UserMappingHelper.map(user);
+        credential = user.getCredential();
+        credentialDto = CredentialMappingHelper.map(credential);
+        verificationToken = credential.getVerificationTokens().iterator().next();
+    }
+
+    @Benchmark
+    public UserDto userToDto() {
+        return UserMappingHelper.map(user);
+    }
+
+    @Benchmark
+    public User userDtoToEntity() {
+        return UserMappingHelper.map(userDto);
+    }
+
+    @Benchmark
+    public CredentialDto credentialToDto() {
+        return CredentialMappingHelper.map(credential);
+    }
+
+    @Benchmark
+    public Credential credentialDtoToEntity() {
+        return CredentialMappingHelper.map(credentialDto);
+    }
+
+    @Benchmark
+    public VerificationTokenDto verificationTokenToDto() {
+        return VerificationTokenMappingHelper.map(verificationToken);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.selimhorri.app.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.UserMappingHelper;
+
+/**
+ * Serializes and parses a {@code GET /api/users} payload, comparing the application's
+ * tuned ObjectMapper with a plain one carrying only the JavaTimeModule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int users;
+
+    @Param({"plain", "tuned"})
+    private String mapper;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader reader;
+    private DtoCollectionResponse<UserDto> response;
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        objectMapper = "tuned".equals(mapper) 
+                ? new MapperConfig().objectMapper() 
+                : new ObjectMapper().registerModule(new JavaTimeModule());
+        reader = objectMapper.readerFor(new TypeReference<DtoCollectionResponse<UserDto>>() {});
+        final List<UserDto> userDtos = IntStream.rangeClosed(1, users)
+                .mapToObj(BenchmarkFixtures::user)
+                .map(UserMappingHelper::map)
+                .collect(Collectors.toUnmodifiableList());
+        response = new DtoCollectionResponse<>(userDtos);
+        try {
+            json = objectMapper.writeValueAsBytes(response);
+        }
+        catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] userCollectionToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public DtoCollectionResponse<UserDto> userCollectionFromJson() throws IOException {
+        return reader.readValue(json);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.selimhorri.app.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link CacheInvalidationEvent}s between the replicas of this service.
+ * Delivery is best effort: a replica that misses an event serves the stale entry
+ * until its cache TTL runs out.
+ */
+public interface CacheInvalidationBroadcaster {
+
+	void publish(final CacheInvalidationEvent event);
+
+	/**
+	 * Subscribers also receive the events this replica published.
+	 */
+	void subscribe(final Consumer<CacheInvalidationEvent> subscriber);
+
+}
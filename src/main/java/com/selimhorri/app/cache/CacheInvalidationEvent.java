@@ -0,0 +1,43 @@
+package com.selimhorri.app.cache;
+
+import java.io.Serializable;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What a write changed, as seen by the caches of the other replicas. Keys are one letter
+ * on the wire since every write publishes one of these.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+@JsonInclude(Include.NON_EMPTY)
+public class CacheInvalidationEvent implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Instance id of the publishing replica, which already evicted its own caches.
+	 */
+	@JsonProperty("o")
+	private String origin;
+
+	@JsonProperty("u")
+	private Integer userId;
+
+	@JsonProperty("c")
+	private Integer credentialId;
+
+	@JsonProperty("n")
+	private Set<String> usernames;
+
+}
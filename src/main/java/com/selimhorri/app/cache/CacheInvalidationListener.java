@@ -0,0 +1,53 @@
+package com.selimhorri.app.cache;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.cache.CacheInvalidationProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.User;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies the writes of the other replicas to this one's caches: the by-username lookups,
+ * the second-level entries of the written user/credential and the username query region,
+ * whose staleness checks only know about local writes. Everything else stays cached.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationListener {
+
+	private final CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
+	private final UsernameCacheInvalidator usernameCacheInvalidator;
+	private final EntityManagerFactory entityManagerFactory;
+	private final CacheInvalidationProperties cacheInvalidationProperties;
+
+	@PostConstruct
+	void subscribe() {
+		this.cacheInvalidationBroadcaster.subscribe(this::onInvalidation);
+	}
+
+	void onInvalidation(final CacheInvalidationEvent event) {
+		if (this.cacheInvalidationProperties.getInstanceId().equals(event.getOrigin()))
+			return;
+		log.debug("*** Void, cache; apply invalidation from {} *", event.getOrigin());
+		if (event.getUsernames() != null)
+			this.usernameCacheInvalidator.evict(event.getUsernames());
+		if (event.getUserId() != null)
+			this.entityManagerFactory.getCache().evict(User.class, event.getUserId());
+		if (event.getCredentialId() != null)
+			this.entityManagerFactory.getCache().evict(Credential.class, event.getCredentialId());
+		final Cache hibernateCache = this.entityManagerFactory.unwrap(SessionFactory.class).getCache();
+		hibernateCache.evictQueryRegion(AppConstant.CacheRegion.USERS_BY_USERNAME_QUERY);
+		hibernateCache.evictQueryRegion(AppConstant.CacheRegion.CREDENTIALS_BY_USERNAME_QUERY);
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers events synchronously to the subscribers of this JVM. Used by single-instance
+ * deployments and by tests, which can subscribe several replicas to one instance.
+ */
+public class InMemoryCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster {
+
+	private final List<Consumer<CacheInvalidationEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void publish(final CacheInvalidationEvent event) {
+		this.subscribers.forEach(subscriber -> subscriber.accept(event));
+	}
+
+	@Override
+	public void subscribe(final Consumer<CacheInvalidationEvent> subscriber) {
+		this.subscribers.add(subscriber);
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.selimhorri.app.cache;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis pub/sub transport: every replica publishes to and listens on one channel.
+ * A failed publish is logged and swallowed, the write it follows has already committed.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster, MessageListener {
+
+	private final StringRedisTemplate redisTemplate;
+	private final ObjectMapper objectMapper;
+	private final String channel;
+	private final List<Consumer<CacheInvalidationEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void publish(final CacheInvalidationEvent event) {
+		try {
+			this.redisTemplate.convertAndSend(this.channel, this.objectMapper.writeValueAsString(event));
+		}
+		catch (JsonProcessingException | RuntimeException e) {
+			log.warn("*** Void, cache; publish invalidation to {} failed: {} *", this.channel, e.getMessage());
+		}
+	}
+
+	@Override
+	public void subscribe(final Consumer<CacheInvalidationEvent> subscriber) {
+		this.subscribers.add(subscriber);
+	}
+
+	@Override
+	public void onMessage(final Message message, final byte[] pattern) {
+		final CacheInvalidationEvent event;
+		try {
+			event = this.objectMapper.readValue(message.getBody(), CacheInvalidationEvent.class);
+		}
+		catch (IOException e) {
+			log.warn("*** Void, cache; drop unreadable invalidation from {}: {} *", this.channel, e.getMessage());
+			return;
+		}
+		this.subscribers.forEach(subscriber -> subscriber.accept(event));
+	}
+
+}
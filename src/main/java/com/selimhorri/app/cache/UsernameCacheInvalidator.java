@@ -0,0 +1,86 @@
+package com.selimhorri.app.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.config.cache.CacheInvalidationProperties;
+import com.selimhorri.app.constant.AppConstant;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evicts the by-username lookups of a user/credential that is being written.
+ * The entry is evicted right away and once more after commit, so a reader that
+ * re-populated it from the pre-commit state cannot leave a stale value behind.
+ * The other replicas hear about the write once it has committed, see {@link CacheInvalidationListener}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class UsernameCacheInvalidator {
+
+	private final CacheManager cacheManager;
+	private final CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
+	private final CacheInvalidationProperties cacheInvalidationProperties;
+
+	public void invalidateUser(final Integer userId, final String... usernames) {
+		this.invalidate(CacheInvalidationEvent.builder()
+				.userId(userId)
+				.usernames(collect(usernames))
+				.build());
+	}
+
+	public void invalidateCredential(final Integer credentialId, final String... usernames) {
+		this.invalidate(CacheInvalidationEvent.builder()
+				.credentialId(credentialId)
+				.usernames(collect(usernames))
+				.build());
+	}
+
+	private void invalidate(final CacheInvalidationEvent event) {
+		event.setOrigin(this.cacheInvalidationProperties.getInstanceId());
+		this.evict(event.getUsernames());
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			this.cacheInvalidationBroadcaster.publish(event);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				cacheInvalidationBroadcaster.publish(event);
+			}
+			@Override
+			public void afterCompletion(final int status) {
+				evict(event.getUsernames());
+			}
+		});
+	}
+
+	void evict(final Collection<String> usernames) {
+		for (final String username : usernames) {
+			log.debug("*** Void, cache; evict username {} *", username);
+			Optional.ofNullable(this.cacheManager.getCache(AppConstant.CacheName.USERS_BY_USERNAME))
+					.ifPresent(cache -> cache.evict(username));
+			Optional.ofNullable(this.cacheManager.getCache(AppConstant.CacheName.CREDENTIALS_BY_USERNAME))
+					.ifPresent(cache -> cache.evict(username));
+		}
+	}
+
+	private static Set<String> collect(final String... usernames) {
+		return Arrays.stream(usernames)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+	}
+
+}
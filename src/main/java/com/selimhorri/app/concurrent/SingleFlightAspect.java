@@ -0,0 +1,45 @@
+package com.selimhorri.app.concurrent;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Coalesces concurrent {@link SingleFlight} lookups with equal arguments into one
+ * execution. Ordered ahead of the cache and transaction interceptors so waiting
+ * callers hold no connection; callers already inside a transaction are not
+ * coalesced, as they may expect to read their own uncommitted writes.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SingleFlightAspect {
+	
+	public static final String COLLAPSED_METRIC = "user.service.singleflight.collapsed";
+	
+	private final SingleFlightGroup group = new SingleFlightGroup();
+	private final MeterRegistry meterRegistry;
+	
+	@Around("@annotation(com.selimhorri.app.concurrent.SingleFlight)")
+	public Object coalesce(final ProceedingJoinPoint joinPoint) throws Throwable {
+		if (TransactionSynchronizationManager.isActualTransactionActive())
+			return joinPoint.proceed();
+		
+		final String method = joinPoint.getSignature().toShortString();
+		final List<Object> key = List.of(method, Arrays.asList(joinPoint.getArgs()));
+		return this.group.execute(key, joinPoint::proceed, 
+				() -> this.meterRegistry.counter(COLLAPSED_METRIC, "method", method).increment());
+	}
+	
+}
@@ -0,0 +1,57 @@
+package com.selimhorri.app.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Runs at most one call per key at a time: callers arriving while a call for
+ * the same key is in flight wait for, and share, its outcome (value or exception).
+ * Nothing is retained once the call completes.
+ */
+public class SingleFlightGroup {
+	
+	@FunctionalInterface
+	public interface Call<V> {
+		V call() throws Throwable;
+	}
+	
+	private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+	
+	/**
+	 * @param onCollapsed invoked when this caller joined a call already in flight
+	 */
+	@SuppressWarnings("unchecked")
+	public <V> V execute(final Object key, final Call<V> call, final Runnable onCollapsed) throws Throwable {
+		final CompletableFuture<Object> future = new CompletableFuture<>();
+		final CompletableFuture<Object> leader = this.inFlight.putIfAbsent(key, future);
+		if (leader != null) {
+			onCollapsed.run();
+			try {
+				return (V) leader.join();
+			}
+			catch (CompletionException e) {
+				throw e.getCause();
+			}
+		}
+		
+		try {
+			final V value = call.call();
+			future.complete(value);
+			return value;
+		}
+		catch (Throwable e) {
+			future.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			this.inFlight.remove(key, future);
+		}
+	}
+	
+	public int inFlightCount() {
+		return this.inFlight.size();
+	}
+	
+}
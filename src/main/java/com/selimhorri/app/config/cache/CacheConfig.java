@@ -0,0 +1,16 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches and their Caffeine spec are declared under {@code spring.cache} so that
+ * Boot registers hit/miss/eviction meters for them with the Prometheus registry.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+	
+	
+	
+}
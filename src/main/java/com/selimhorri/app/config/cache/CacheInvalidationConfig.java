@@ -0,0 +1,102 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.cache.CacheInvalidationBroadcaster;
+import com.selimhorri.app.cache.InMemoryCacheInvalidationBroadcaster;
+import com.selimhorri.app.cache.RedisCacheInvalidationBroadcaster;
+
+@Configuration
+@EnableConfigurationProperties(CacheInvalidationProperties.class)
+public class CacheInvalidationConfig {
+
+	@Configuration(proxyBeanMethods = false)
+	@Conditional(OnInMemoryTransport.class)
+	static class InMemoryTransport {
+
+		@Bean
+		public CacheInvalidationBroadcaster cacheInvalidationBroadcaster() {
+			return new InMemoryCacheInvalidationBroadcaster();
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@Conditional(OnRedisTransport.class)
+	static class RedisTransport {
+
+		@Bean
+		public RedisCacheInvalidationBroadcaster cacheInvalidationBroadcaster(final StringRedisTemplate redisTemplate,
+				final ObjectMapper objectMapper, final CacheInvalidationProperties properties) {
+			return new RedisCacheInvalidationBroadcaster(redisTemplate, objectMapper, properties.getChannel());
+		}
+
+		@Bean
+		public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+				final RedisConnectionFactory connectionFactory, final RedisCacheInvalidationBroadcaster broadcaster,
+				final CacheInvalidationProperties properties) {
+			final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+			container.setConnectionFactory(connectionFactory);
+			container.addMessageListener(broadcaster, new ChannelTopic(properties.getChannel()));
+			return container;
+		}
+
+	}
+
+	/**
+	 * Binds the transport the way {@link CacheInvalidationProperties} is bound, relaxed names and
+	 * its default included, so a value the properties accept always selects a broadcaster.
+	 */
+	abstract static class TransportCondition extends SpringBootCondition {
+
+		private final CacheInvalidationProperties.Transport transport;
+
+		TransportCondition(final CacheInvalidationProperties.Transport transport) {
+			this.transport = transport;
+		}
+
+		@Override
+		public ConditionOutcome getMatchOutcome(final ConditionContext context, final AnnotatedTypeMetadata metadata) {
+			final CacheInvalidationProperties.Transport bound = Binder.get(context.getEnvironment())
+					.bind("app.cache-invalidation", CacheInvalidationProperties.class)
+					.orElseGet(CacheInvalidationProperties::new)
+					.getTransport();
+			final ConditionMessage.Builder message = ConditionMessage.forCondition("Cache invalidation transport");
+			return bound == this.transport
+					? ConditionOutcome.match(message.foundExactly(bound))
+					: ConditionOutcome.noMatch(message.because("transport is " + bound));
+		}
+
+	}
+
+	static class OnInMemoryTransport extends TransportCondition {
+
+		OnInMemoryTransport() {
+			super(CacheInvalidationProperties.Transport.IN_MEMORY);
+		}
+
+	}
+
+	static class OnRedisTransport extends TransportCondition {
+
+		OnRedisTransport() {
+			super(CacheInvalidationProperties.Transport.REDIS);
+		}
+
+	}
+
+}
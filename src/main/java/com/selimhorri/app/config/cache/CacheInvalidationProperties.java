@@ -0,0 +1,33 @@
+package com.selimhorri.app.config.cache;
+
+import java.util.UUID;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Transport of the cache invalidations between replicas, see {@link CacheInvalidationConfig}.
+ */
+@ConfigurationProperties(prefix = "app.cache-invalidation")
+@Data
+public class CacheInvalidationProperties {
+
+	/**
+	 * {@code in-memory} (single instance, tests) or {@code redis}, in any relaxed form; picks the
+	 * broadcaster {@link CacheInvalidationConfig} registers.
+	 */
+	private Transport transport = Transport.IN_MEMORY;
+
+	private String channel = "user-service:cache-invalidation";
+
+	/**
+	 * Tells this replica's own events apart from the others', unique per process by default.
+	 */
+	private String instanceId = UUID.randomUUID().toString();
+
+	public enum Transport {
+		IN_MEMORY, REDIS
+	}
+
+}
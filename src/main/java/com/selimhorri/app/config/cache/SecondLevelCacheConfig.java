@@ -0,0 +1,86 @@
+package com.selimhorri.app.config.cache;
+
+import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.selimhorri.app.constant.AppConstant;
+
+/**
+ * Hibernate second-level cache on a Caffeine JCache manager owned by this context.
+ * Every region is created up front from {@link SecondLevelCacheProperties} and Hibernate
+ * is told to fail on any other, so no region ever runs with the provider's unbounded default.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.second-level-cache", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+	@Bean(destroyMethod = "close")
+	public CacheManager secondLevelCacheManager(final SecondLevelCacheProperties properties) {
+		// a manager per context: test contexts live side by side and would otherwise share regions
+		final CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+				.getCacheManager(URI.create("second-level-cache:" + UUID.randomUUID()), this.getClass().getClassLoader());
+
+		final Set<String> regions = new LinkedHashSet<>(Set.of(
+				AppConstant.CacheRegion.USERS,
+				AppConstant.CacheRegion.CREDENTIALS,
+				AppConstant.CacheRegion.ADDRESSES,
+				AppConstant.CacheRegion.USERS_BY_USERNAME_QUERY,
+				AppConstant.CacheRegion.CREDENTIALS_BY_USERNAME_QUERY,
+				RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME));
+		regions.addAll(properties.getRegions().keySet());
+		regions.forEach(region -> cacheManager.createCache(region, bounded(properties.region(region))));
+
+		// query results are only as fresh as these timestamps, so they must never be evicted
+		final CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+		timestamps.setStatisticsEnabled(true);
+		cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer secondLevelCacheCustomizer(final CacheManager secondLevelCacheManager,
+			final SecondLevelCacheProperties properties) {
+		return hibernateProperties -> {
+			hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+			hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+			hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+			hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+			hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+			hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, properties.isStatistics());
+		};
+	}
+
+	@Bean
+	public SecondLevelCacheEndpoint secondLevelCacheEndpoint(final EntityManagerFactory entityManagerFactory,
+			final SecondLevelCacheProperties properties) {
+		return new SecondLevelCacheEndpoint(entityManagerFactory, properties);
+	}
+
+	private static CaffeineConfiguration<Object, Object> bounded(final SecondLevelCacheProperties.Region region) {
+		final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+		configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+		configuration.setStatisticsEnabled(true);
+		return configuration;
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.selimhorri.app.config.cache;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/l2cache}: configured bounds and hit ratio of every second-level cache region.
+ * The same counters are exported as {@code hibernate.second.level.cache.*} meters.
+ */
+@Endpoint(id = "l2cache")
+@RequiredArgsConstructor
+public class SecondLevelCacheEndpoint {
+
+	private final EntityManagerFactory entityManagerFactory;
+	private final SecondLevelCacheProperties properties;
+
+	@ReadOperation
+	public Map<String, RegionReport> regions() {
+		final Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		final Map<String, RegionReport> regions = new LinkedHashMap<>();
+		Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(name -> {
+			final CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+			final SecondLevelCacheProperties.Region bounds = this.properties.region(name);
+			final long lookups = region.getHitCount() + region.getMissCount();
+			regions.put(name, new RegionReport(
+					bounds.getMaxSize(),
+					bounds.getTtl().toString(),
+					region.getHitCount(),
+					region.getMissCount(),
+					region.getPutCount(),
+					lookups == 0 ? 0d : (double) region.getHitCount() / lookups));
+		});
+		return regions;
+	}
+
+	@Data
+	@AllArgsConstructor
+	public static final class RegionReport {
+
+		private final long maxSize;
+		private final String ttl;
+		private final long hits;
+		private final long misses;
+		private final long puts;
+		private final double hitRatio;
+
+	}
+
+}
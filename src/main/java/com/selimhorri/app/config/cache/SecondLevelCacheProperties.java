@@ -0,0 +1,51 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Sizing of the Hibernate second-level cache regions, see {@link SecondLevelCacheConfig}.
+ */
+@ConfigurationProperties(prefix = "app.second-level-cache")
+@Data
+public class SecondLevelCacheProperties {
+
+	private boolean enabled = true;
+
+	/**
+	 * Hibernate statistics, which feed the {@code l2cache} endpoint and the {@code hibernate.*} meters.
+	 */
+	private boolean statistics = true;
+
+	/**
+	 * Applied to every region that has no entry under {@link #regions}.
+	 */
+	private Region defaults = new Region();
+
+	/**
+	 * Per-region overrides, keyed by the names in {@code AppConstant.CacheRegion}.
+	 */
+	private Map<String, Region> regions = new LinkedHashMap<>();
+
+	public Region region(final String name) {
+		return this.regions.getOrDefault(name, this.defaults);
+	}
+
+	@Data
+	public static class Region {
+
+		private long maxSize = 10_000;
+
+		/**
+		 * Time to live after the entry was written.
+		 */
+		private Duration ttl = Duration.ofMinutes(10);
+
+	}
+
+}
@@ -1,16 +1,24 @@
 package com.selimhorri.app.config.enconder;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.selimhorri.app.security.BCryptStrengthCalibrator;
+
 @Configuration
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 public class EncoderConfig {
     
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(final PasswordHashingProperties properties) {
+        final int strength = properties.getStrength() != null 
+                ? properties.getStrength() 
+                : BCryptStrengthCalibrator.calibrate(
+                        properties.getTargetLatency(), properties.getMinStrength(), properties.getMaxStrength());
+        return new BCryptPasswordEncoder(strength);
     }
     
 }
@@ -0,0 +1,45 @@
+package com.selimhorri.app.config.enconder;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Sizing of the dedicated password hashing pool, see {@link com.selimhorri.app.security.PasswordHasher}.
+ */
+@ConfigurationProperties(prefix = "app.password-hashing")
+@Data
+public class PasswordHashingProperties {
+	
+	/**
+	 * Threads hashing concurrently; BCrypt is CPU bound so this should not exceed the core count.
+	 */
+	private int poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+	
+	/**
+	 * Hash requests allowed to wait for a thread before new ones are rejected.
+	 */
+	private int queueCapacity = 64;
+	
+	/**
+	 * Longest a caller waits for its hash, queueing included.
+	 */
+	private Duration timeout = Duration.ofSeconds(5);
+	
+	/**
+	 * Fixed BCrypt cost; when unset the cost is calibrated at startup against {@link #targetLatency}.
+	 */
+	private Integer strength;
+	
+	/**
+	 * Hash time the calibrated cost should not exceed on this hardware.
+	 */
+	private Duration targetLatency = Duration.ofMillis(250);
+	
+	private int minStrength = 10;
+	
+	private int maxStrength = 16;
+	
+}
@@ -1,32 +1,78 @@
 package com.selimhorri.app.config.mapper;
 
+import java.util.List;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
-
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.selimhorri.app.dto.AddressDto;
+import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.VerificationTokenDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 @Configuration
 public class MapperConfig {
 	
+	private static final List<Class<?>> HOT_DTOS = 
+			List.of(UserDto.class, CredentialDto.class, AddressDto.class, VerificationTokenDto.class);
+	
     @Bean
     public ObjectMapper objectMapper() {
-        ObjectMapper objectMapper = new ObjectMapper();
+        return configure(new ObjectMapper());
+    }
+    
+    /**
+     * Binary twin of the JSON mapper, picked by content negotiation on
+     * {@code Accept: application/cbor}; JSON stays the default since it is registered first.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(configure(new CBORMapper()));
+    }
+    
+    /**
+     * Blackbird swaps reflective getter/setter calls for generated lambdas, and the DTOs
+     * on every request path get their (de)serializers built up front instead of on the
+     * first request. Keeping the source for error locations buys nothing for short-lived
+     * request bodies, and no JSON views are used. Field-name interning stays on: every body
+     * repeats the same few keys, and the symbol table hits are what keep them cheap to read.
+     */
+    private static <T extends ObjectMapper> T configure(final T objectMapper) {
         objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.registerModule(new BlackbirdModule());
+        objectMapper.disable(MapperFeature.DEFAULT_VIEW_INCLUSION);
+        objectMapper.getFactory().disable(JsonParser.Feature.INCLUDE_SOURCE_IN_LOCATION);
+        prewarm(objectMapper);
         return objectMapper;
     }
+    
+    private static void prewarm(final ObjectMapper objectMapper) {
+        final TypeFactory typeFactory = objectMapper.getTypeFactory();
+        for (final Class<?> dto : HOT_DTOS) {
+            final JavaType collection = typeFactory.constructParametricType(DtoCollectionResponse.class, dto);
+            for (final JavaType type : List.of(typeFactory.constructType(dto), collection)) {
+                try {
+                    objectMapper.getSerializerProviderInstance().findTypedValueSerializer(type, true, null);
+                }
+                catch (JsonMappingException e) {
+                    throw new IllegalStateException("Cannot build serializer for " + type, e);
+                }
+                objectMapper.readerFor(type);
+            }
+        }
+    }
 	
 	
 	
 }
-
-
-
-
-
-
-
-
-
-
@@ -0,0 +1,60 @@
+package com.selimhorri.app.config.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.selimhorri.app.monitoring.RequestProfileSessionListener;
+import com.selimhorri.app.monitoring.RouteSloMeterFilter;
+import com.selimhorri.app.monitoring.SlowRequestEndpoint;
+import com.selimhorri.app.monitoring.SlowRequestFilter;
+import com.selimhorri.app.monitoring.SlowRequestSampler;
+
+@Configuration
+@EnableConfigurationProperties(RequestMonitoringProperties.class)
+public class RequestMonitoringConfig {
+
+	@Bean
+	public RouteSloMeterFilter routeSloMeterFilter(final RequestMonitoringProperties properties) {
+		return new RouteSloMeterFilter(properties.getSlo());
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "app.request-monitoring.slow-request", name = "enabled", matchIfMissing = true)
+	static class SlowRequestSampling {
+
+		@Bean
+		public SlowRequestSampler slowRequestSampler(final RequestMonitoringProperties properties) {
+			return new SlowRequestSampler(properties.getSlowRequest().getCapacity());
+		}
+
+		@Bean
+		public FilterRegistrationBean<SlowRequestFilter> slowRequestFilter(final SlowRequestSampler sampler,
+				final RequestMonitoringProperties properties) {
+			final FilterRegistrationBean<SlowRequestFilter> registration = new FilterRegistrationBean<>(
+					new SlowRequestFilter(sampler, properties.getSlowRequest().getThreshold()));
+			registration.addUrlPatterns("/api/*");
+			// after Sleuth's tracing filter (highest precedence + 5), which puts the trace id in the MDC
+			registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+			return registration;
+		}
+
+		@Bean
+		public SlowRequestEndpoint slowRequestEndpoint(final SlowRequestSampler sampler) {
+			return new SlowRequestEndpoint(sampler);
+		}
+
+		@Bean
+		public HibernatePropertiesCustomizer requestProfileCustomizer() {
+			return hibernateProperties -> hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+					RequestProfileSessionListener.class.getName());
+		}
+
+	}
+
+}
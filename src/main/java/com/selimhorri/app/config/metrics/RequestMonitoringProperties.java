@@ -0,0 +1,61 @@
+package com.selimhorri.app.config.metrics;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Per-route latency SLOs and slow-request sampling, see {@link RequestMonitoringConfig}.
+ */
+@ConfigurationProperties(prefix = "app.request-monitoring")
+@Data
+public class RequestMonitoringProperties {
+
+	private Slo slo = new Slo();
+
+	private SlowRequest slowRequest = new SlowRequest();
+
+	@Data
+	public static class Slo {
+
+		/**
+		 * Routes whose {@code http.server.requests} timer gets SLO buckets, by URI template prefix.
+		 */
+		private List<String> routePrefixes = List.of(
+				"/api/users", "/api/credentials", "/api/address", "/api/verificationTokens");
+
+		private List<Duration> buckets = List.of(
+				Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+				Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(2));
+
+		/**
+		 * Bucket overrides keyed by the exact URI template, e.g. {@code /api/users/{userId}}.
+		 */
+		private Map<String, List<Duration>> routes = new LinkedHashMap<>();
+
+		public List<Duration> bucketsFor(final String route) {
+			return this.routes.getOrDefault(route, this.buckets);
+		}
+
+	}
+
+	@Data
+	public static class SlowRequest {
+
+		private boolean enabled = true;
+
+		private Duration threshold = Duration.ofMillis(500);
+
+		/**
+		 * Number of samples kept, the oldest is dropped first.
+		 */
+		private int capacity = 200;
+
+	}
+
+}
@@ -11,6 +11,42 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int MAX_PAGE_SIZE = 1000;
+	public static final int MAX_BATCH_SIZE = 500;
+	public static final int IMPORT_CHUNK_SIZE = 1000;
+	public static final int MAX_IMPORT_ERRORS = 1000;
+	public static final int EXPORT_FETCH_SIZE = 1000;
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class MediaTypes {
+		
+		public static final String APPLICATION_NDJSON = "application/x-ndjson";
+		public static final String TEXT_CSV = "text/csv";
+		
+	}
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class CacheName {
+		
+		public static final String USERS_BY_USERNAME = "usersByUsername";
+		public static final String CREDENTIALS_BY_USERNAME = "credentialsByUsername";
+		
+	}
+	
+	/**
+	 * Hibernate second-level cache regions, sized under {@code app.second-level-cache.regions}.
+	 */
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class CacheRegion {
+		
+		public static final String USERS = "users";
+		public static final String CREDENTIALS = "credentials";
+		public static final String ADDRESSES = "addresses";
+		public static final String USERS_BY_USERNAME_QUERY = "users-by-username-query";
+		public static final String CREDENTIALS_BY_USERNAME_QUERY = "credentials-by-username-query";
+		
+	}
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
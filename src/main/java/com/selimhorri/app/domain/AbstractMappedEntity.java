@@ -7,6 +7,7 @@ import javax.persistence.Column;
 import javax.persistence.MappedSuperclass;
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
+import javax.persistence.Version;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -26,6 +27,13 @@ public abstract class AbstractMappedEntity implements Serializable {
 	
 	@Column(name = "updated_at", nullable = false)
 	private Instant updatedAt;
+	
+	/**
+	 * Optimistic lock, bumped by Hibernate on every update and exposed to clients as the ETag.
+	 */
+	@Version
+	@Column(name = "version", nullable = false)
+	private Long version;
 
 	@PrePersist
 	public void prePersist() {
@@ -4,13 +4,21 @@ import java.io.Serializable;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.selimhorri.app.constant.AppConstant;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,11 +27,13 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "address")
+@NamedEntityGraph(name = "Address.user", attributeNodes = @NamedAttributeNode("user"))
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = {"user"})
 @Data
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppConstant.CacheRegion.ADDRESSES)
 public final class Address extends AbstractMappedEntity implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
@@ -41,7 +51,7 @@ public final class Address extends AbstractMappedEntity implements Serializable
 	
 	private String city;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id")
 	private User user;
 	
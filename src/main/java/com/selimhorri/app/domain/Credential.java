@@ -14,11 +14,18 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.selimhorri.app.constant.AppConstant;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,12 +35,15 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "credentials")
+@NamedEntityGraph(name = "Credential.user", attributeNodes = @NamedAttributeNode("user"))
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = {"user", "verificationTokens"})
 @Data
 @Builder
-public final class Credential extends AbstractMappedEntity implements Serializable {
+@BatchSize(size = 100)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppConstant.CacheRegion.CREDENTIALS)
+public class Credential extends AbstractMappedEntity implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	@Id
@@ -68,7 +78,8 @@ public final class Credential extends AbstractMappedEntity implements Serializab
 	private User user;
 	
 	@JsonIgnore
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, mappedBy = "credential")
+	@BatchSize(size = 100)
+	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "credential")
 	private Set<VerificationToken> verificationTokens;
 	
 }
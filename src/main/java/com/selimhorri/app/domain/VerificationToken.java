@@ -11,13 +11,19 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.PrePersist;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 
 import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonFormat.Shape;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.helper.TokenHashHelper;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -27,9 +33,10 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "verification_tokens")
+@NamedEntityGraph(name = "VerificationToken.credential", attributeNodes = @NamedAttributeNode("credential"))
 @NoArgsConstructor
 @AllArgsConstructor
-@EqualsAndHashCode(callSuper = true, exclude = {"credential"})
+@EqualsAndHashCode(callSuper = true, exclude = {"credential", "tokenHash"})
 @Data
 @Builder
 public final class VerificationToken extends AbstractMappedEntity implements Serializable {
@@ -41,18 +48,42 @@ public final class VerificationToken extends AbstractMappedEntity implements Ser
 	@Column(name = "verification_token_id", unique = true, nullable = false, updatable = false)
 	private Integer verificationTokenId;
 	
-	@Column(name = "verif_token")
+	/**
+	 * Plaintext value, only known while the token is being issued or renewed; never persisted.
+	 */
+	@Transient
 	private String token;
 	
+	/**
+	 * SHA-256 of {@link #token}, the only form of the value that is stored; used for lookups by value.
+	 */
+	@JsonIgnore
+	@Column(name = "token_hash", columnDefinition = "BINARY(32)")
+	private byte[] tokenHash;
+	
 	@JsonFormat(pattern = AppConstant.LOCAL_DATE_FORMAT, shape = Shape.STRING)
 	@DateTimeFormat(pattern = AppConstant.LOCAL_DATE_FORMAT)
 	@Column(name = "expire_date")
 	private LocalDate expireDate;
 	
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "credential_id")
 	private Credential credential;
 	
+	/**
+	 * Renewing the value must re-hash it right away: a transient field alone never makes the entity dirty.
+	 */
+	public void setToken(final String token) {
+		this.token = token;
+		this.hashToken();
+	}
+	
+	@PrePersist
+	void hashToken() {
+		if (this.token != null)
+			this.tokenHash = TokenHashHelper.hash(this.token);
+	}
+	
 }
 
 
@@ -2,6 +2,7 @@ package com.selimhorri.app.dto;
 
 import java.io.Serializable;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -19,6 +20,9 @@ public class AddressDto implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	
+	@JsonIgnore
+	private Long version;
+	
 	private Integer addressId;
 	
 	private String fullAddress;
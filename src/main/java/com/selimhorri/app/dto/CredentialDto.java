@@ -3,8 +3,10 @@ package com.selimhorri.app.dto;
 import java.io.Serializable;
 import java.util.Set;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonProperty.Access;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.selimhorri.app.domain.RoleBasedAuthority;
 
@@ -21,10 +23,14 @@ public class CredentialDto implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	
+	@JsonIgnore
+	private Long version;
+	
 	private Integer credentialId;
 	
 	private String username;
 	
+	@JsonProperty(access = Access.WRITE_ONLY)
 	private String password;
 	
 	private RoleBasedAuthority roleBasedAuthority;
@@ -3,6 +3,7 @@ package com.selimhorri.app.dto;
 import java.io.Serializable;
 import java.util.Set;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -20,6 +21,9 @@ public class UserDto implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	
+	@JsonIgnore
+	private Long version;
+	
 	private Integer userId;
 	
 	private String firstName;
@@ -5,6 +5,7 @@ import java.time.LocalDate;
 
 import org.springframework.format.annotation.DateTimeFormat;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -25,8 +26,15 @@ public class VerificationTokenDto implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	
+	@JsonIgnore
+	private Long version;
+	
 	private Integer verificationTokenId;
 	
+	/**
+	 * Only the hash is stored, so the value is returned once, by the request that issued or renewed it.
+	 */
+	@JsonInclude(value = Include.NON_NULL)
 	private String token;
 	
 	@JsonFormat(pattern = AppConstant.LOCAL_DATE_FORMAT, shape = Shape.STRING)
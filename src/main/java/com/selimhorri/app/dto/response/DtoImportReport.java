@@ -0,0 +1,41 @@
+package com.selimhorri.app.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class DtoImportReport {
+	
+	private long received;
+	
+	private long imported;
+	
+	private long failed;
+	
+	/**
+	 * First rejected rows, at most {@code AppConstant.MAX_IMPORT_ERRORS} of {@link #failed}.
+	 */
+	private List<RowError> errors;
+	
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Data
+	public static class RowError {
+		
+		/**
+		 * 1-based data row (header line excluded).
+		 */
+		private long row;
+		
+		private String message;
+		
+	}
+	
+}
@@ -0,0 +1,27 @@
+package com.selimhorri.app.dto.response.collection;
+
+import java.util.Collection;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class DtoBatchResponse<K, T> {
+
+	/**
+	 * Resolved entries keyed by the requested id, in request order.
+	 */
+	private Map<K, T> collection;
+
+	/**
+	 * Requested ids that could not be resolved.
+	 */
+	private Collection<K> missing;
+
+}
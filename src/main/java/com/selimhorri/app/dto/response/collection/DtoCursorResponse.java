@@ -0,0 +1,27 @@
+package com.selimhorri.app.dto.response.collection;
+
+import java.util.Collection;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class DtoCursorResponse<T> {
+
+	private Collection<T> collection;
+
+	/**
+	 * Value to send back as {@code after} to fetch the next page, null on the last page.
+	 */
+	@JsonInclude(value = Include.NON_NULL)
+	private Integer nextCursor;
+
+}
@@ -4,18 +4,21 @@ import com.selimhorri.app.domain.Address;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.AddressDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.repository.projection.AddressView;
 
 public interface AddressMappingHelper {
 	
 	public static AddressDto map(final Address address) {
 		return AddressDto.builder()
 				.addressId(address.getAddressId())
+				.version(address.getVersion())
 				.fullAddress(address.getFullAddress())
 				.postalCode(address.getPostalCode())
 				.city(address.getCity())
 				.userDto(
 					UserDto.builder()
 						.userId(address.getUser().getUserId())
+						.version(address.getUser().getVersion())
 						.firstName(address.getUser().getFirstName())
 						.lastName(address.getUser().getLastName())
 						.imageUrl(address.getUser().getImageUrl())
@@ -25,6 +28,26 @@ public interface AddressMappingHelper {
 				.build();
 	}
 	
+	public static AddressDto map(final AddressView addressView) {
+		return AddressDto.builder()
+				.addressId(addressView.getAddressId())
+				.version(addressView.getVersion())
+				.fullAddress(addressView.getFullAddress())
+				.postalCode(addressView.getPostalCode())
+				.city(addressView.getCity())
+				.userDto(addressView.getUserId() == null ? null :
+					UserDto.builder()
+						.userId(addressView.getUserId())
+						.version(addressView.getUserVersion())
+						.firstName(addressView.getFirstName())
+						.lastName(addressView.getLastName())
+						.imageUrl(addressView.getImageUrl())
+						.email(addressView.getEmail())
+						.phone(addressView.getPhone())
+						.build())
+				.build();
+	}
+	
 	public static Address map(final AddressDto addressDto) {
 		return Address.builder()
 				.addressId(addressDto.getAddressId())
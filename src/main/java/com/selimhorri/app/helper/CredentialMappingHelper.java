@@ -4,14 +4,15 @@ import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.repository.projection.CredentialView;
 
 public interface CredentialMappingHelper {
 	
 	public static CredentialDto map(final Credential credential) {
 		return CredentialDto.builder()
 				.credentialId(credential.getCredentialId())
+				.version(credential.getVersion())
 				.username(credential.getUsername())
-				.password(credential.getPassword())
 				.roleBasedAuthority(credential.getRoleBasedAuthority())
 				.isEnabled(credential.getIsEnabled())
 				.isAccountNonExpired(credential.getIsAccountNonExpired())
@@ -20,6 +21,7 @@ public interface CredentialMappingHelper {
 				.userDto(
 						UserDto.builder()
 							.userId(credential.getUser().getUserId())
+							.version(credential.getUser().getVersion())
 							.firstName(credential.getUser().getFirstName())
 							.lastName(credential.getUser().getLastName())
 							.imageUrl(credential.getUser().getImageUrl())
@@ -29,6 +31,29 @@ public interface CredentialMappingHelper {
 				.build();
 	}
 	
+	public static CredentialDto map(final CredentialView credentialView) {
+		return CredentialDto.builder()
+				.credentialId(credentialView.getCredentialId())
+				.version(credentialView.getVersion())
+				.username(credentialView.getUsername())
+				.roleBasedAuthority(credentialView.getRoleBasedAuthority())
+				.isEnabled(credentialView.getIsEnabled())
+				.isAccountNonExpired(credentialView.getIsAccountNonExpired())
+				.isAccountNonLocked(credentialView.getIsAccountNonLocked())
+				.isCredentialsNonExpired(credentialView.getIsCredentialsNonExpired())
+				.userDto(
+						UserDto.builder()
+							.userId(credentialView.getUserId())
+							.version(credentialView.getUserVersion())
+							.firstName(credentialView.getFirstName())
+							.lastName(credentialView.getLastName())
+							.imageUrl(credentialView.getImageUrl())
+							.email(credentialView.getEmail())
+							.phone(credentialView.getPhone())
+							.build())
+				.build();
+	}
+	
 	public static Credential map(final CredentialDto credentialDto) {
 		return Credential.builder()
 				.credentialId(credentialDto.getCredentialId())
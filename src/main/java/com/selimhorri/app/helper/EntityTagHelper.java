@@ -0,0 +1,84 @@
+package com.selimhorri.app.helper;
+
+import org.springframework.http.ResponseEntity;
+
+import com.selimhorri.app.domain.AbstractMappedEntity;
+import com.selimhorri.app.dto.AddressDto;
+import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.VerificationTokenDto;
+import com.selimhorri.app.exception.wrapper.VersionMismatchException;
+
+/**
+ * Strong ETags of the form {@code "<version>.<nestedVersion>"}: the version of the
+ * resource itself followed by the version of the entity embedded in its body, so a
+ * change to either one invalidates cached representations. Only the first part is
+ * compared on {@code If-Match}, since a PUT only writes the resource itself.
+ */
+public interface EntityTagHelper {
+	
+	public static String of(final UserDto userDto) {
+		return tag(userDto.getVersion(), 
+				userDto.getCredentialDto() == null ? null : userDto.getCredentialDto().getVersion());
+	}
+	
+	public static String of(final CredentialDto credentialDto) {
+		return tag(credentialDto.getVersion(), 
+				credentialDto.getUserDto() == null ? null : credentialDto.getUserDto().getVersion());
+	}
+	
+	public static String of(final AddressDto addressDto) {
+		return tag(addressDto.getVersion(), 
+				addressDto.getUserDto() == null ? null : addressDto.getUserDto().getVersion());
+	}
+	
+	public static String of(final VerificationTokenDto verificationTokenDto) {
+		return tag(verificationTokenDto.getVersion(), 
+				verificationTokenDto.getCredentialDto() == null ? null : verificationTokenDto.getCredentialDto().getVersion());
+	}
+	
+	/**
+	 * Version a conditional update must find, or {@code null} when the request is
+	 * unconditional ({@code If-Match} absent or {@code *}).
+	 */
+	public static Long expectedVersion(final String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*"))
+			return null;
+		final String eTag = ifMatch.split(",")[0].strip();
+		// weak tags never match under the strong comparison If-Match requires
+		if (eTag.length() < 2 || !eTag.startsWith("\"") || !eTag.endsWith("\""))
+			throw new VersionMismatchException(String.format("If-Match %s does not match the current entity tag", eTag));
+		final String value = eTag.substring(1, eTag.length() - 1);
+		final int separator = value.indexOf('.');
+		try {
+			return Long.valueOf(separator < 0 ? value : value.substring(0, separator));
+		}
+		catch (NumberFormatException e) {
+			throw new VersionMismatchException(String.format("If-Match %s does not match the current entity tag", eTag));
+		}
+	}
+	
+	/**
+	 * Rejects a conditional update whose expected version is no longer current. A
+	 * concurrent writer slipping in after this check is caught by {@code @Version} at flush.
+	 */
+	public static void checkVersion(final Long expectedVersion, final AbstractMappedEntity entity) {
+		if (expectedVersion != null && !expectedVersion.equals(entity.getVersion()))
+			throw new VersionMismatchException(String.format("%s has been modified: expected version %d but found %d", 
+					entity.getClass().getSimpleName(), expectedVersion, entity.getVersion()));
+	}
+	
+	public static ResponseEntity.BodyBuilder ok(final String eTag) {
+		final ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+		if (eTag != null)
+			builder.eTag(eTag);
+		return builder;
+	}
+	
+	private static String tag(final Long version, final Long nestedVersion) {
+		if (version == null)
+			return null;
+		return String.format("\"%d.%d\"", version, nestedVersion == null ? 0 : nestedVersion);
+	}
+	
+}
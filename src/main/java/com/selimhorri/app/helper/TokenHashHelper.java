@@ -0,0 +1,24 @@
+package com.selimhorri.app.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Fixed-width (32 bytes) SHA-256 digest of a verification token, the value stored
+ * and indexed in {@code verification_tokens.token_hash}.
+ */
+public interface TokenHashHelper {
+	
+	public static byte[] hash(final String token) {
+		if (token == null)
+			return null;
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+	
+}
@@ -4,6 +4,7 @@ import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.repository.projection.UserView;
 
 public interface UserMappingHelper {
 
@@ -15,8 +16,8 @@ public interface UserMappingHelper {
 		if (cred != null) {
 			credDto = CredentialDto.builder()
 					.credentialId(cred.getCredentialId())
+					.version(cred.getVersion())
 					.username(cred.getUsername())
-					.password(cred.getPassword())
 					.roleBasedAuthority(cred.getRoleBasedAuthority())
 					.isEnabled(cred.getIsEnabled())
 					.isAccountNonExpired(cred.getIsAccountNonExpired())
@@ -26,6 +27,7 @@ public interface UserMappingHelper {
 		}
 		return UserDto.builder()
 				.userId(user.getUserId())
+				.version(user.getVersion())
 				.firstName(user.getFirstName())
 				.lastName(user.getLastName())
 				.imageUrl(user.getImageUrl())
@@ -35,6 +37,29 @@ public interface UserMappingHelper {
 				.build();
 	}
 
+	public static UserDto map(final UserView userView) {
+		return UserDto.builder()
+				.userId(userView.getUserId())
+				.version(userView.getVersion())
+				.firstName(userView.getFirstName())
+				.lastName(userView.getLastName())
+				.imageUrl(userView.getImageUrl())
+				.email(userView.getEmail())
+				.phone(userView.getPhone())
+				.credentialDto(
+						CredentialDto.builder()
+							.credentialId(userView.getCredentialId())
+							.version(userView.getCredentialVersion())
+							.username(userView.getUsername())
+							.roleBasedAuthority(userView.getRoleBasedAuthority())
+							.isEnabled(userView.getIsEnabled())
+							.isAccountNonExpired(userView.getIsAccountNonExpired())
+							.isAccountNonLocked(userView.getIsAccountNonLocked())
+							.isCredentialsNonExpired(userView.getIsCredentialsNonExpired())
+							.build())
+				.build();
+	}
+
 	public static User mapOnlyUser(final UserDto userDto) {
 		if (userDto == null)
 			return null;
@@ -4,19 +4,21 @@ import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.VerificationToken;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.VerificationTokenDto;
+import com.selimhorri.app.repository.projection.VerificationTokenView;
 
 public interface VerificationTokenMappingHelper {
 
 	public static VerificationTokenDto map(final VerificationToken verificationToken) {
 		return VerificationTokenDto.builder()
 				.verificationTokenId(verificationToken.getVerificationTokenId())
+				.version(verificationToken.getVersion())
 				.token(verificationToken.getToken())
 				.expireDate(verificationToken.getExpireDate())
 				.credentialDto(
 						CredentialDto.builder()
 								.credentialId(verificationToken.getCredential().getCredentialId())
+								.version(verificationToken.getCredential().getVersion())
 								.username(verificationToken.getCredential().getUsername())
-								.password(verificationToken.getCredential().getPassword())
 								.roleBasedAuthority(verificationToken.getCredential().getRoleBasedAuthority())
 								.isEnabled(verificationToken.getCredential().getIsEnabled())
 								.isAccountNonExpired(verificationToken.getCredential().getIsAccountNonExpired())
@@ -26,6 +28,25 @@ public interface VerificationTokenMappingHelper {
 				.build();
 	}
 
+	public static VerificationTokenDto map(final VerificationTokenView verificationTokenView) {
+		return VerificationTokenDto.builder()
+				.verificationTokenId(verificationTokenView.getVerificationTokenId())
+				.version(verificationTokenView.getVersion())
+				.expireDate(verificationTokenView.getExpireDate())
+				.credentialDto(verificationTokenView.getCredentialId() == null ? null :
+						CredentialDto.builder()
+								.credentialId(verificationTokenView.getCredentialId())
+								.version(verificationTokenView.getCredentialVersion())
+								.username(verificationTokenView.getUsername())
+								.roleBasedAuthority(verificationTokenView.getRoleBasedAuthority())
+								.isEnabled(verificationTokenView.getIsEnabled())
+								.isAccountNonExpired(verificationTokenView.getIsAccountNonExpired())
+								.isAccountNonLocked(verificationTokenView.getIsAccountNonLocked())
+								.isCredentialsNonExpired(verificationTokenView.getIsCredentialsNonExpired())
+								.build())
+				.build();
+	}
+
 	public static VerificationToken map(final VerificationTokenDto verificationTokenDto) {
 		return VerificationToken.builder()
 				.verificationTokenId(verificationTokenDto.getVerificationTokenId())
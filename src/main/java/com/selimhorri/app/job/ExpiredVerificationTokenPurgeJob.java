@@ -0,0 +1,101 @@
+package com.selimhorri.app.job;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.repository.VerificationTokenRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+/**
+ * Deletes expired verification tokens in keyset-ordered chunks, one transaction per
+ * chunk, pausing between chunks. Removed rows are counted in
+ * {@code verification_tokens.purged}, each run is timed in {@code verification_tokens.purge}.
+ */
+@Component
+@Slf4j
+@EnableConfigurationProperties(TokenPurgeProperties.class)
+@ConditionalOnProperty(prefix = "app.token-purge", name = "enabled", matchIfMissing = true)
+public class ExpiredVerificationTokenPurgeJob {
+	
+	private final VerificationTokenRepository verificationTokenRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final TokenPurgeProperties properties;
+	private final Counter purged;
+	private final Timer purge;
+	
+	public ExpiredVerificationTokenPurgeJob(final VerificationTokenRepository verificationTokenRepository, 
+			final PlatformTransactionManager transactionManager, 
+			final TokenPurgeProperties properties, 
+			final MeterRegistry meterRegistry) {
+		this.verificationTokenRepository = verificationTokenRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.properties = properties;
+		this.purged = Counter.builder("verification_tokens.purged")
+				.description("Expired verification tokens deleted")
+				.register(meterRegistry);
+		this.purge = Timer.builder("verification_tokens.purge")
+				.description("Duration of expired verification token purge runs")
+				.register(meterRegistry);
+	}
+	
+	@Scheduled(cron = "${app.token-purge.cron:0 17 * * * *}")
+	@SchedulerLock(name = "purgeExpiredVerificationTokens")
+	public void purgeExpired() {
+		this.purgeExpiredBefore(LocalDate.now());
+	}
+	
+	/**
+	 * @return number of tokens deleted, all with an expire date strictly before {@code cutoff}
+	 */
+	public long purgeExpiredBefore(final LocalDate cutoff) {
+		return this.purge.record(() -> {
+			log.info("*** Long, job; purge verification tokens expired before {} *", cutoff);
+			long total = 0;
+			Integer after = 0;
+			while (after != null) {
+				final Integer lastId = after;
+				final List<Integer> chunk = this.transactionTemplate.execute(status -> {
+					final List<Integer> ids = this.verificationTokenRepository.findExpiredIdsAfter(lastId, cutoff, 
+							PageRequest.of(0, this.properties.getChunkSize()));
+					if (!ids.isEmpty())
+						this.verificationTokenRepository.deleteAllByIdIn(ids);
+					return ids;
+				});
+				this.purged.increment(chunk.size());
+				total += chunk.size();
+				after = chunk.size() < this.properties.getChunkSize() ? null : chunk.get(chunk.size() - 1);
+				if (after != null && !this.pause())
+					break;
+			}
+			log.info("*** Long, job; purged {} expired verification tokens *", total);
+			return total;
+		});
+	}
+	
+	private boolean pause() {
+		try {
+			Thread.sleep(this.properties.getPauseBetweenChunks().toMillis());
+			return true;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+	
+}
@@ -0,0 +1,29 @@
+package com.selimhorri.app.job;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * The schedule, {@code app.token-purge.cron}, is not bound here: {@code @Scheduled} on
+ * {@link ExpiredVerificationTokenPurgeJob} resolves it, default included.
+ */
+@ConfigurationProperties(prefix = "app.token-purge")
+@Data
+public class TokenPurgeProperties {
+	
+	private boolean enabled = true;
+	
+	/**
+	 * Expired tokens deleted per transaction.
+	 */
+	private int chunkSize = 5000;
+	
+	/**
+	 * Pause between two chunks, keeps the purge from monopolising the database.
+	 */
+	private Duration pauseBetweenChunks = Duration.ofMillis(200);
+	
+}
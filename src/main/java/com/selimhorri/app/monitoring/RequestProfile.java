@@ -0,0 +1,73 @@
+package com.selimhorri.app.monitoring;
+
+/**
+ * Where the time of the current request went, filled in by {@link RequestProfileSessionListener}
+ * and {@link SerializationTimingAdvice} on the request thread and read by {@link SlowRequestFilter}.
+ * An async request carries its profile as a request attribute, bound again on every thread that
+ * serves part of it (see {@link RequestProfileCallableInterceptor}).
+ */
+public final class RequestProfile {
+
+	static final String ATTRIBUTE = RequestProfile.class.getName();
+
+	private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+	private final long startNanos = System.nanoTime();
+	private int sqlCount;
+	private long dbNanos;
+	private long serializationStartNanos;
+
+	private RequestProfile() {
+	}
+
+	static RequestProfile start() {
+		final RequestProfile profile = new RequestProfile();
+		CURRENT.set(profile);
+		return profile;
+	}
+
+	static void bind(final RequestProfile profile) {
+		CURRENT.set(profile);
+	}
+
+	static void clear() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * The profile of the request served by this thread, {@code null} outside one.
+	 */
+	static RequestProfile current() {
+		return CURRENT.get();
+	}
+
+	void recordStatement(final long nanos) {
+		this.sqlCount++;
+		this.dbNanos += nanos;
+	}
+
+	void markSerializationStart() {
+		this.serializationStartNanos = System.nanoTime();
+	}
+
+	int getSqlCount() {
+		return this.sqlCount;
+	}
+
+	long getDbNanos() {
+		return this.dbNanos;
+	}
+
+	long getElapsedNanos(final long endNanos) {
+		return endNanos - this.startNanos;
+	}
+
+	/**
+	 * From the response body advice to the end of the request, so it includes writing
+	 * (and compressing) the body; zero for responses that bypass the message converters.
+	 */
+	long getSerializationNanos(final long endNanos) {
+		return this.serializationStartNanos == 0 ? 0 : endNanos - this.serializationStartNanos;
+	}
+
+}
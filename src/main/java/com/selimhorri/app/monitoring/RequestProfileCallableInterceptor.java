@@ -0,0 +1,28 @@
+package com.selimhorri.app.monitoring;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+/**
+ * Binds the request's profile on the MVC task executor thread that runs a {@link Callable}
+ * or {@code StreamingResponseBody}, so the statements of a streamed export are counted too.
+ * Registered per request by {@link SlowRequestFilter}.
+ */
+class RequestProfileCallableInterceptor implements CallableProcessingInterceptor {
+
+	@Override
+	public <T> void preProcess(final NativeWebRequest request, final Callable<T> task) {
+		final Object profile = request.getAttribute(RequestProfile.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (profile instanceof RequestProfile)
+			RequestProfile.bind((RequestProfile) profile);
+	}
+
+	@Override
+	public <T> void postProcess(final NativeWebRequest request, final Callable<T> task, final Object concurrentResult) {
+		RequestProfile.clear();
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.selimhorri.app.monitoring;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Registered on every Hibernate session through {@code hibernate.session.events.auto}, one instance
+ * per session: adds each JDBC execution (single statement or batch) to the request's profile.
+ */
+public class RequestProfileSessionListener extends BaseSessionEventListener {
+
+	private static final long serialVersionUID = 1L;
+
+	private transient long executeStartNanos;
+
+	@Override
+	public void jdbcExecuteStatementStart() {
+		this.executeStartNanos = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		this.record();
+	}
+
+	@Override
+	public void jdbcExecuteBatchStart() {
+		this.executeStartNanos = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		this.record();
+	}
+
+	private void record() {
+		final RequestProfile profile = RequestProfile.current();
+		if (profile != null)
+			profile.recordStatement(System.nanoTime() - this.executeStartNanos);
+	}
+
+}
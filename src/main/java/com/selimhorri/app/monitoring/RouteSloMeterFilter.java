@@ -0,0 +1,38 @@
+package com.selimhorri.app.monitoring;
+
+import java.time.Duration;
+
+import com.selimhorri.app.config.metrics.RequestMonitoringProperties;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Gives the {@code http.server.requests} timer of each API route its SLO buckets, so the
+ * share of requests under each bound can be read per route from the exported histogram.
+ */
+@RequiredArgsConstructor
+public class RouteSloMeterFilter implements MeterFilter {
+
+	static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+	private final RequestMonitoringProperties.Slo slo;
+
+	@Override
+	public DistributionStatisticConfig configure(final Meter.Id id, final DistributionStatisticConfig config) {
+		final String route = id.getTag("uri");
+		if (!HTTP_SERVER_REQUESTS.equals(id.getName()) || route == null
+				|| this.slo.getRoutePrefixes().stream().noneMatch(route::startsWith))
+			return config;
+		return DistributionStatisticConfig.builder()
+				.serviceLevelObjectives(this.slo.bucketsFor(route).stream()
+						.mapToDouble(Duration::toNanos)
+						.toArray())
+				.build()
+				.merge(config);
+	}
+
+}
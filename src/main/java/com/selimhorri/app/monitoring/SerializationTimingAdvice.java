@@ -0,0 +1,33 @@
+package com.selimhorri.app.monitoring;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks the moment a response body is handed to its message converter.
+ */
+@ControllerAdvice
+public class SerializationTimingAdvice implements ResponseBodyAdvice<Object> {
+
+	@Override
+	public boolean supports(final MethodParameter returnType,
+			final Class<? extends HttpMessageConverter<?>> converterType) {
+		return true;
+	}
+
+	@Override
+	public Object beforeBodyWrite(final Object body, final MethodParameter returnType,
+			final MediaType selectedContentType, final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+			final ServerHttpRequest request, final ServerHttpResponse response) {
+		final RequestProfile profile = RequestProfile.current();
+		if (profile != null)
+			profile.markSerializationStart();
+		return body;
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.selimhorri.app.monitoring;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/slowrequests}: the sampled slow requests, newest first. A DELETE empties the buffer.
+ */
+@Endpoint(id = "slowrequests")
+@RequiredArgsConstructor
+public class SlowRequestEndpoint {
+
+	private final SlowRequestSampler sampler;
+
+	@ReadOperation
+	public List<SlowRequestSample> samples() {
+		return this.sampler.snapshot();
+	}
+
+	@DeleteOperation
+	public void clear() {
+		this.sampler.clear();
+	}
+
+}
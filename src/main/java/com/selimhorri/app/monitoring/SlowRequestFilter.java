@@ -0,0 +1,134 @@
+package com.selimhorri.app.monitoring;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.MDC;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Profiles every API request and samples the ones slower than the threshold into the
+ * {@link SlowRequestSampler}. Runs inside Sleuth's tracing filter, so the trace id is in the MDC.
+ * An async request (a {@code StreamingResponseBody} export, a {@code DeferredResult}) is sampled
+ * by an {@link AsyncListener} once the container completes it, not when the servlet thread returns.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SlowRequestFilter extends OncePerRequestFilter {
+
+	private static final double NANOS_PER_MILLI = 1_000_000d;
+
+	private final SlowRequestSampler sampler;
+	private final Duration threshold;
+
+	/**
+	 * The async dispatch writes the result of a {@code DeferredResult} or {@code Callable}, so it
+	 * must run with the profile bound as well.
+	 */
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		final boolean asyncDispatch = this.isAsyncDispatch(request);
+		final RequestProfile profile = asyncDispatch
+				? (RequestProfile) request.getAttribute(RequestProfile.ATTRIBUTE)
+				: RequestProfile.start();
+		if (profile == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		RequestProfile.bind(profile);
+		if (!asyncDispatch) {
+			request.setAttribute(RequestProfile.ATTRIBUTE, profile);
+			WebAsyncUtils.getAsyncManager(request)
+					.registerCallableInterceptor(RequestProfile.ATTRIBUTE, new RequestProfileCallableInterceptor());
+		}
+		final String traceId = MDC.get("traceId");
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			RequestProfile.clear();
+			if (request.isAsyncStarted()) {
+				if (!asyncDispatch)
+					request.getAsyncContext().addListener(new CompletionListener(profile, traceId));
+			}
+			else if (!asyncDispatch)
+				this.sampleIfSlow(request, response, profile, traceId);
+		}
+	}
+
+	private void sampleIfSlow(final HttpServletRequest request, final HttpServletResponse response,
+			final RequestProfile profile, final String traceId) {
+		final long endNanos = System.nanoTime();
+		final long elapsedNanos = profile.getElapsedNanos(endNanos);
+		if (elapsedNanos < this.threshold.toNanos())
+			return;
+		final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		final SlowRequestSample sample = SlowRequestSample.builder()
+				.timestamp(Instant.now())
+				.method(request.getMethod())
+				.route(pattern != null ? pattern.toString() : request.getRequestURI())
+				.status(response.getStatus())
+				.durationMs(elapsedNanos / NANOS_PER_MILLI)
+				.sqlCount(profile.getSqlCount())
+				.dbTimeMs(profile.getDbNanos() / NANOS_PER_MILLI)
+				.serializationTimeMs(profile.getSerializationNanos(endNanos) / NANOS_PER_MILLI)
+				.traceId(traceId)
+				.build();
+		log.info("*** Void, monitoring; slow request {} {} took {} ms, {} sql in {} ms *", sample.getMethod(),
+				sample.getRoute(), sample.getDurationMs(), sample.getSqlCount(), sample.getDbTimeMs());
+		this.sampler.record(sample);
+	}
+
+	/**
+	 * Samples an async request once it completes; a timeout or error still ends in completion.
+	 */
+	@RequiredArgsConstructor
+	private final class CompletionListener implements AsyncListener {
+
+		private final RequestProfile profile;
+		private final String traceId;
+
+		@Override
+		public void onComplete(final AsyncEvent event) {
+			sampleIfSlow((HttpServletRequest) event.getSuppliedRequest(),
+					(HttpServletResponse) event.getSuppliedResponse(), this.profile, this.traceId);
+		}
+
+		@Override
+		public void onTimeout(final AsyncEvent event) {
+		}
+
+		@Override
+		public void onError(final AsyncEvent event) {
+		}
+
+		/**
+		 * A new async cycle drops the registered listeners, so follow the request into it.
+		 */
+		@Override
+		public void onStartAsync(final AsyncEvent event) {
+			event.getAsyncContext().addListener(this);
+		}
+
+	}
+
+}
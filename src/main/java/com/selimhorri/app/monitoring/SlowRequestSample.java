@@ -0,0 +1,34 @@
+package com.selimhorri.app.monitoring;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One request that took longer than the slow-request threshold, times in milliseconds.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class SlowRequestSample implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Instant timestamp;
+	private final String method;
+
+	/**
+	 * URI template of the matched mapping, the raw path when no mapping matched.
+	 */
+	private final String route;
+	private final int status;
+	private final double durationMs;
+	private final int sqlCount;
+	private final double dbTimeMs;
+	private final double serializationTimeMs;
+	private final String traceId;
+
+}
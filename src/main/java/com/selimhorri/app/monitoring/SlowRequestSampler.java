@@ -0,0 +1,46 @@
+package com.selimhorri.app.monitoring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-size ring buffer of the latest slow requests; once full, each sample replaces the oldest.
+ * Only slow requests get here, so a plain lock is cheap enough.
+ */
+public class SlowRequestSampler {
+
+	private final SlowRequestSample[] samples;
+	private long recorded;
+
+	public SlowRequestSampler(final int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Slow request capacity must be greater than zero");
+		this.samples = new SlowRequestSample[capacity];
+	}
+
+	public synchronized void record(final SlowRequestSample sample) {
+		this.samples[(int) (this.recorded++ % this.samples.length)] = sample;
+	}
+
+	/**
+	 * Newest first.
+	 */
+	public synchronized List<SlowRequestSample> snapshot() {
+		final int size = (int) Math.min(this.recorded, this.samples.length);
+		final List<SlowRequestSample> snapshot = new ArrayList<>(size);
+		for (long i = this.recorded - 1; i >= this.recorded - size; i--)
+			snapshot.add(this.samples[(int) (i % this.samples.length)]);
+		return snapshot;
+	}
+
+	public synchronized long getRecorded() {
+		return this.recorded;
+	}
+
+	public synchronized void clear() {
+		Arrays.fill(this.samples, null);
+		this.recorded = 0;
+	}
+
+}
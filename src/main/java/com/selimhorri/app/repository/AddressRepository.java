@@ -1,11 +1,40 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.selimhorri.app.domain.Address;
+import com.selimhorri.app.repository.projection.AddressView;
 
 public interface AddressRepository extends JpaRepository<Address, Integer> {
 	
+	String ADDRESS_VIEW_SELECT = "SELECT a.addressId AS addressId, a.version AS version, a.fullAddress AS fullAddress, "
+			+ "a.postalCode AS postalCode, a.city AS city, "
+			+ "u.userId AS userId, u.version AS userVersion, u.firstName AS firstName, u.lastName AS lastName, "
+			+ "u.imageUrl AS imageUrl, u.email AS email, u.phone AS phone "
+			+ "FROM Address a LEFT JOIN a.user u ";
+	
+	/**
+	 * Write paths: the address plus the user its response embeds.
+	 */
+	@EntityGraph("Address.user")
+	Optional<Address> findWithUserByAddressId(final Integer addressId);
+	
+	@Query(ADDRESS_VIEW_SELECT + "ORDER BY a.addressId ASC")
+	List<AddressView> findAllViews();
+
+	/**
+	 * Keyset page: addresses whose id is strictly greater than {@code after}.
+	 */
+	@Query(ADDRESS_VIEW_SELECT + "WHERE a.addressId > :after ORDER BY a.addressId ASC")
+	List<AddressView> findPageViewsAfter(final Integer after, final Pageable pageable);
 	
+	@Query(ADDRESS_VIEW_SELECT + "WHERE a.addressId = :addressId")
+	Optional<AddressView> findViewById(final Integer addressId);
 	
 }
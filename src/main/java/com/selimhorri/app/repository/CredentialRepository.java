@@ -1,22 +1,84 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
+import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.repository.projection.CredentialSecretView;
+import com.selimhorri.app.repository.projection.CredentialView;
 
 public interface CredentialRepository extends JpaRepository<Credential, Integer> {
 
-	Optional<Credential> findByUsername(final String username);
+	String CREDENTIAL_VIEW_SELECT = "SELECT c.credentialId AS credentialId, c.version AS version, c.username AS username, "
+			+ "c.roleBasedAuthority AS roleBasedAuthority, c.isEnabled AS isEnabled, "
+			+ "c.isAccountNonExpired AS isAccountNonExpired, c.isAccountNonLocked AS isAccountNonLocked, "
+			+ "c.isCredentialsNonExpired AS isCredentialsNonExpired, "
+			+ "u.userId AS userId, u.version AS userVersion, u.firstName AS firstName, u.lastName AS lastName, "
+			+ "u.imageUrl AS imageUrl, u.email AS email, u.phone AS phone "
+			+ "FROM Credential c JOIN c.user u ";
 
 	boolean existsByUsername(String username);
 
+	/**
+	 * Query-cached: on a hit the credential and the user it owns both resolve from their regions,
+	 * so a warm lookup issues no statement at all.
+	 */
+	@EntityGraph("Credential.user")
+	@QueryHints({
+		@QueryHint(name = HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HINT_CACHE_REGION, value = AppConstant.CacheRegion.CREDENTIALS_BY_USERNAME_QUERY)
+	})
+	@Query("SELECT c FROM Credential c WHERE c.username = :username")
+	Optional<Credential> findWithUserByUsername(final String username);
+
+	/**
+	 * Write paths: the credential plus the user its response embeds, but not its tokens.
+	 */
+	@EntityGraph("Credential.user")
+	Optional<Credential> findWithUserByCredentialId(final Integer credentialId);
+
+	@Query(CREDENTIAL_VIEW_SELECT + "ORDER BY c.credentialId ASC")
+	List<CredentialView> findAllViews();
+
+	/**
+	 * Keyset page: credentials whose id is strictly greater than {@code after}.
+	 */
+	@Query(CREDENTIAL_VIEW_SELECT + "WHERE c.credentialId > :after ORDER BY c.credentialId ASC")
+	List<CredentialView> findPageViewsAfter(final Integer after, final Pageable pageable);
+
+	@Query(CREDENTIAL_VIEW_SELECT + "WHERE c.credentialId = :credentialId")
+	Optional<CredentialView> findViewById(final Integer credentialId);
+
+	@Query("SELECT c.credentialId AS credentialId, c.password AS password FROM Credential c WHERE c.username = :username")
+	Optional<CredentialSecretView> findSecretByUsername(final String username);
+
+	/**
+	 * Reads the user_id foreign key directly instead of the derived query's join to users.
+	 */
+	@Query("SELECT COUNT(c) > 0 FROM Credential c WHERE c.user.userId = :userId")
 	boolean existsByUserUserId(Integer userId);
 
+    /**
+     * Replaces the hash only if it is still the one that was verified, so a concurrent password change wins.
+     */
+    @Modifying
+    @Query("UPDATE Credential c SET c.password = :password, c.version = c.version + 1 WHERE c.credentialId = :credentialId AND c.password = :previousPassword")
+    int updatePassword(Integer credentialId, String previousPassword, String password);
+
     @Modifying
     @Transactional
     @Query("DELETE FROM Credential c WHERE c.credentialId = :credentialId")
@@ -1,13 +1,73 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.User;
+import com.selimhorri.app.repository.projection.UserView;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
-	
+
+	String USER_VIEW_SELECT = "SELECT u.userId AS userId, u.firstName AS firstName, u.lastName AS lastName, "
+			+ "u.imageUrl AS imageUrl, u.email AS email, u.phone AS phone, u.version AS version, "
+			+ "c.credentialId AS credentialId, c.version AS credentialVersion, c.username AS username, "
+			+ "c.roleBasedAuthority AS roleBasedAuthority, c.isEnabled AS isEnabled, "
+			+ "c.isAccountNonExpired AS isAccountNonExpired, c.isAccountNonLocked AS isAccountNonLocked, "
+			+ "c.isCredentialsNonExpired AS isCredentialsNonExpired "
+			+ "FROM User u JOIN u.credential c ";
+
+	/**
+	 * Inner join (unlike the derived query's left join) so the lookup can start from the username index.
+	 * The result is query-cached and both entities resolve from their regions on a hit; tokens are not
+	 * cached, so they stay lazy here.
+	 */
+	@EntityGraph("User.credential")
+	@QueryHints({
+		@QueryHint(name = HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HINT_CACHE_REGION, value = AppConstant.CacheRegion.USERS_BY_USERNAME_QUERY)
+	})
+	@Query("SELECT u FROM User u JOIN u.credential c WHERE c.username = :username")
 	Optional<User> findByCredentialUsername(final String username);
-	
+
+	/**
+	 * Write paths: the user plus its credential, which update and delete both touch.
+	 */
+	@EntityGraph("User.credential")
+	Optional<User> findWithCredentialByUserId(final Integer userId);
+
+	@Query(USER_VIEW_SELECT + "ORDER BY u.userId ASC")
+	List<UserView> findAllViews();
+
+	@Query(USER_VIEW_SELECT + "WHERE u.userId IN :userIds")
+	List<UserView> findViewsByIdIn(final Collection<Integer> userIds);
+
+	/**
+	 * Keyset page: users with credentials whose id is strictly greater than {@code after}.
+	 */
+	@Query(USER_VIEW_SELECT + "WHERE u.userId > :after ORDER BY u.userId ASC")
+	List<UserView> findPageViewsAfter(final Integer after, final Pageable pageable);
+
+	/**
+	 * Forward-only cursor over every user with credentials, must be consumed inside a transaction.
+	 * Rows are projections, not entities, so the persistence context stays empty however long it runs.
+	 */
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+	@Query(USER_VIEW_SELECT + "ORDER BY u.userId ASC")
+	Stream<UserView> streamAllViews();
+
 }
@@ -1,14 +1,65 @@
 package com.selimhorri.app.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.selimhorri.app.domain.VerificationToken;
+import com.selimhorri.app.repository.projection.VerificationTokenView;
 
 public interface VerificationTokenRepository extends JpaRepository<VerificationToken, Integer> {
 
+    String VERIFICATION_TOKEN_VIEW_SELECT = "SELECT vt.verificationTokenId AS verificationTokenId, vt.version AS version, "
+            + "vt.expireDate AS expireDate, "
+            + "c.credentialId AS credentialId, c.version AS credentialVersion, c.username AS username, "
+            + "c.roleBasedAuthority AS roleBasedAuthority, c.isEnabled AS isEnabled, "
+            + "c.isAccountNonExpired AS isAccountNonExpired, c.isAccountNonLocked AS isAccountNonLocked, "
+            + "c.isCredentialsNonExpired AS isCredentialsNonExpired "
+            + "FROM VerificationToken vt LEFT JOIN vt.credential c ";
+
+    /**
+     * Write paths: the token plus the credential its response embeds.
+     */
+    @EntityGraph("VerificationToken.credential")
+    Optional<VerificationToken> findWithCredentialByVerificationTokenId(final Integer verificationTokenId);
+
+    @Query(VERIFICATION_TOKEN_VIEW_SELECT + "ORDER BY vt.verificationTokenId ASC")
+    List<VerificationTokenView> findAllViews();
+
+    /**
+     * Keyset page: verification tokens whose id is strictly greater than {@code after}.
+     */
+    @Query(VERIFICATION_TOKEN_VIEW_SELECT + "WHERE vt.verificationTokenId > :after ORDER BY vt.verificationTokenId ASC")
+    List<VerificationTokenView> findPageViewsAfter(final Integer after, final Pageable pageable);
+
+    @Query(VERIFICATION_TOKEN_VIEW_SELECT + "WHERE vt.verificationTokenId = :verificationTokenId")
+    Optional<VerificationTokenView> findViewById(final Integer verificationTokenId);
+
+    /**
+     * Point lookup on the token_hash index; the oldest token wins if a value was issued twice.
+     */
+    @Query(VERIFICATION_TOKEN_VIEW_SELECT + "WHERE vt.tokenHash = :tokenHash ORDER BY vt.verificationTokenId ASC")
+    List<VerificationTokenView> findViewsByTokenHash(final byte[] tokenHash);
+
+    /**
+     * Keyset chunk of expired token ids, walked along the primary key.
+     */
+    @Query("SELECT vt.verificationTokenId FROM VerificationToken vt "
+            + "WHERE vt.verificationTokenId > :after AND vt.expireDate < :cutoff ORDER BY vt.verificationTokenId ASC")
+    List<Integer> findExpiredIdsAfter(final Integer after, final LocalDate cutoff, final Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM VerificationToken vt WHERE vt.verificationTokenId IN :ids")
+    int deleteAllByIdIn(final Collection<Integer> ids);
+
     @Modifying
     @Transactional
     @Query("DELETE FROM VerificationToken vt WHERE vt.id = :id")
@@ -0,0 +1,22 @@
+package com.selimhorri.app.repository.projection;
+
+/**
+ * Closed, read-only projection of an address joined with its user.
+ */
+public interface AddressView {
+	
+	Integer getAddressId();
+	Long getVersion();
+	String getFullAddress();
+	String getPostalCode();
+	String getCity();
+	
+	Integer getUserId();
+	Long getUserVersion();
+	String getFirstName();
+	String getLastName();
+	String getImageUrl();
+	String getEmail();
+	String getPhone();
+	
+}
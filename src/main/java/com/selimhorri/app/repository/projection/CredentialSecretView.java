@@ -0,0 +1,12 @@
+package com.selimhorri.app.repository.projection;
+
+/**
+ * The only projection that reads the password hash, for verification inside the
+ * service; it is never mapped to a DTO.
+ */
+public interface CredentialSecretView {
+	
+	Integer getCredentialId();
+	String getPassword();
+	
+}
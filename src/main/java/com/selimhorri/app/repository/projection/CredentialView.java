@@ -0,0 +1,27 @@
+package com.selimhorri.app.repository.projection;
+
+import com.selimhorri.app.domain.RoleBasedAuthority;
+
+/**
+ * Closed, read-only projection of a credential joined with its user.
+ */
+public interface CredentialView {
+	
+	Integer getCredentialId();
+	Long getVersion();
+	String getUsername();
+	RoleBasedAuthority getRoleBasedAuthority();
+	Boolean getIsEnabled();
+	Boolean getIsAccountNonExpired();
+	Boolean getIsAccountNonLocked();
+	Boolean getIsCredentialsNonExpired();
+	
+	Integer getUserId();
+	Long getUserVersion();
+	String getFirstName();
+	String getLastName();
+	String getImageUrl();
+	String getEmail();
+	String getPhone();
+	
+}
@@ -0,0 +1,27 @@
+package com.selimhorri.app.repository.projection;
+
+import com.selimhorri.app.domain.RoleBasedAuthority;
+
+/**
+ * Closed, read-only projection of a user joined with its credential.
+ */
+public interface UserView {
+	
+	Integer getUserId();
+	Long getVersion();
+	String getFirstName();
+	String getLastName();
+	String getImageUrl();
+	String getEmail();
+	String getPhone();
+	
+	Integer getCredentialId();
+	Long getCredentialVersion();
+	String getUsername();
+	RoleBasedAuthority getRoleBasedAuthority();
+	Boolean getIsEnabled();
+	Boolean getIsAccountNonExpired();
+	Boolean getIsAccountNonLocked();
+	Boolean getIsCredentialsNonExpired();
+	
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.repository.projection;
+
+import java.time.LocalDate;
+
+import com.selimhorri.app.domain.RoleBasedAuthority;
+
+/**
+ * Closed, read-only projection of a verification token joined with its credential.
+ */
+public interface VerificationTokenView {
+	
+	Integer getVerificationTokenId();
+	Long getVersion();
+	LocalDate getExpireDate();
+	
+	Integer getCredentialId();
+	Long getCredentialVersion();
+	String getUsername();
+	RoleBasedAuthority getRoleBasedAuthority();
+	Boolean getIsEnabled();
+	Boolean getIsAccountNonExpired();
+	Boolean getIsAccountNonLocked();
+	Boolean getIsCredentialsNonExpired();
+	
+}
@@ -1,9 +1,12 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,11 +14,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.AddressDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorResponse;
+import com.selimhorri.app.helper.EntityTagHelper;
 import com.selimhorri.app.service.AddressService;
 
 import lombok.RequiredArgsConstructor;
@@ -35,13 +43,26 @@ public class AddressResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.addressService.findAll()));
 	}
 	
+	@GetMapping(params = "limit")
+	public ResponseEntity<DtoCursorResponse<AddressDto>> findAll(
+			@RequestParam("limit") final int limit, 
+			@RequestParam(name = "after", required = false) final Integer after) {
+		log.info("*** AddressDto List, controller; fetch addresss page *");
+		final List<AddressDto> page = this.addressService.findAll(after, limit);
+		final Integer nextCursor = page.size() == Math.min(limit, AppConstant.MAX_PAGE_SIZE) 
+				? page.get(page.size() - 1).getAddressId() 
+				: null;
+		return ResponseEntity.ok(new DtoCursorResponse<>(page, nextCursor));
+	}
+	
 	@GetMapping("/{addressId}")
 	public ResponseEntity<AddressDto> findById(
 			@PathVariable("addressId") 
 			@NotBlank(message = "Input must not blank") 
 			@Valid final String addressId) {
 		log.info("*** AddressDto, resource; fetch address by id *");
-		return ResponseEntity.ok(this.addressService.findById(Integer.parseInt(addressId.strip())));
+		final AddressDto addressDto = this.addressService.findById(Integer.parseInt(addressId.strip()));
+		return EntityTagHelper.ok(EntityTagHelper.of(addressDto)).body(addressDto);
 	}
 	
 	@PostMapping
@@ -55,22 +76,28 @@ public class AddressResource {
 	
 	@PutMapping
 	public ResponseEntity<AddressDto> update(
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) final String ifMatch, 
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final AddressDto addressDto) {
 		log.info("*** AddressDto, resource; update address *");
-		return ResponseEntity.ok(this.addressService.update(addressDto));
+		addressDto.setVersion(EntityTagHelper.expectedVersion(ifMatch));
+		final AddressDto updated = this.addressService.update(addressDto);
+		return EntityTagHelper.ok(EntityTagHelper.of(updated)).body(updated);
 	}
 	
 	@PutMapping("/{addressId}")
 	public ResponseEntity<AddressDto> update(
 			@PathVariable("addressId") 
 			@NotBlank(message = "Input must not blank") final String addressId, 
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) final String ifMatch, 
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final AddressDto addressDto) {
 		log.info("*** AddressDto, resource; update address with addressId *");
-		return ResponseEntity.ok(this.addressService.update(Integer.parseInt(addressId.strip()), addressDto));
+		addressDto.setVersion(EntityTagHelper.expectedVersion(ifMatch));
+		final AddressDto updated = this.addressService.update(Integer.parseInt(addressId.strip()), addressDto);
+		return EntityTagHelper.ok(EntityTagHelper.of(updated)).body(updated);
 	}
 	
 	@DeleteMapping("/{addressId}")
@@ -1,9 +1,12 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,11 +14,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorResponse;
+import com.selimhorri.app.helper.EntityTagHelper;
 import com.selimhorri.app.service.CredentialService;
 
 import lombok.RequiredArgsConstructor;
@@ -35,18 +43,32 @@ public class CredentialResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.credentialService.findAll()));
 	}
 
+	@GetMapping(params = "limit")
+	public ResponseEntity<DtoCursorResponse<CredentialDto>> findAll(
+			@RequestParam("limit") final int limit, 
+			@RequestParam(name = "after", required = false) final Integer after) {
+		log.info("*** CredentialDto List, controller; fetch credentials page *");
+		final List<CredentialDto> page = this.credentialService.findAll(after, limit);
+		final Integer nextCursor = page.size() == Math.min(limit, AppConstant.MAX_PAGE_SIZE) 
+				? page.get(page.size() - 1).getCredentialId() 
+				: null;
+		return ResponseEntity.ok(new DtoCursorResponse<>(page, nextCursor));
+	}
+
 	@GetMapping("/username/{username}")
 	public ResponseEntity<CredentialDto> findByUsername(
 			@PathVariable("username") @NotBlank(message = "Input must not blank") @Valid final String username) {
 		log.info("*** CredentialDto, resource; update credential with credentialId *");
-		return ResponseEntity.ok(this.credentialService.findByUsername(username));
+		final CredentialDto credentialDto = this.credentialService.findByUsername(username);
+		return EntityTagHelper.ok(EntityTagHelper.of(credentialDto)).body(credentialDto);
 	}
 
 	@GetMapping("/{credentialId}")
 	public ResponseEntity<CredentialDto> findById(
 			@PathVariable("credentialId") @NotBlank(message = "Input must not blank") @Valid final String credentialId) {
 		log.info("*** CredentialDto, resource; fetch credential by id *");
-		return ResponseEntity.ok(this.credentialService.findById(Integer.parseInt(credentialId.strip())));
+		final CredentialDto credentialDto = this.credentialService.findById(Integer.parseInt(credentialId.strip()));
+		return EntityTagHelper.ok(EntityTagHelper.of(credentialDto)).body(credentialDto);
 	}
 
 	@PostMapping
@@ -56,19 +78,32 @@ public class CredentialResource {
 		return ResponseEntity.ok(this.credentialService.save(credentialDto));
 	}
 
+	@PostMapping("/verify")
+	public ResponseEntity<Boolean> verify(
+			@RequestBody @NotNull(message = "Input must not NULL") @Valid final CredentialDto credentialDto) {
+		log.info("*** Boolean, resource; verify credential password *");
+		return ResponseEntity.ok(this.credentialService.verify(credentialDto.getUsername(), credentialDto.getPassword()));
+	}
+
 	@PutMapping
 	public ResponseEntity<CredentialDto> update(
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
 			@RequestBody @NotNull(message = "Input must not NULL") @Valid final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, resource; update credential *");
-		return ResponseEntity.ok(this.credentialService.update(credentialDto));
+		credentialDto.setVersion(EntityTagHelper.expectedVersion(ifMatch));
+		final CredentialDto updated = this.credentialService.update(credentialDto);
+		return EntityTagHelper.ok(EntityTagHelper.of(updated)).body(updated);
 	}
 
 	@PutMapping("/{credentialId}")
 	public ResponseEntity<CredentialDto> update(
 			@PathVariable("credentialId") @NotBlank(message = "Input must not blank") final String credentialId,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
 			@RequestBody @NotNull(message = "Input must not NULL") @Valid final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, resource; update credential with credentialId *");
-		return ResponseEntity.ok(this.credentialService.update(Integer.parseInt(credentialId.strip()), credentialDto));
+		credentialDto.setVersion(EntityTagHelper.expectedVersion(ifMatch));
+		final CredentialDto updated = this.credentialService.update(Integer.parseInt(credentialId.strip()), credentialDto);
+		return EntityTagHelper.ok(EntityTagHelper.of(updated)).body(updated);
 	}
 
 	@DeleteMapping("/{credentialId}")
@@ -1,9 +1,20 @@
 package com.selimhorri.app.resource;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,11 +22,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.DtoImportReport;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorResponse;
+import com.selimhorri.app.helper.EntityTagHelper;
+import com.selimhorri.app.service.UserExportService;
+import com.selimhorri.app.service.UserImportService;
 import com.selimhorri.app.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,6 +51,9 @@ import lombok.extern.slf4j.Slf4j;
 public class UserResource {
 	
 	private final UserService userService;
+	private final UserImportService userImportService;
+	private final UserExportService userExportService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<UserDto>> findAll() {
@@ -35,13 +61,63 @@ public class UserResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAll()));
 	}
 	
+	@GetMapping(params = "limit")
+	public ResponseEntity<DtoCursorResponse<UserDto>> findAll(
+			@RequestParam("limit") final int limit, 
+			@RequestParam(name = "after", required = false) final Integer after) {
+		log.info("*** UserDto List, controller; fetch users page *");
+		final List<UserDto> page = this.userService.findAll(after, limit);
+		final Integer nextCursor = page.size() == Math.min(limit, AppConstant.MAX_PAGE_SIZE) 
+				? page.get(page.size() - 1).getUserId() 
+				: null;
+		return ResponseEntity.ok(new DtoCursorResponse<>(page, nextCursor));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll() {
+		log.info("*** UserDto List, controller; stream all users *");
+		final StreamingResponseBody body = outputStream -> {
+			try (final JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream)) {
+				generator.writeStartObject();
+				generator.writeArrayFieldStart("collection");
+				this.userService.streamAll(userDto -> {
+					try {
+						generator.writeObject(userDto);
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				generator.writeEndArray();
+				generator.writeEndObject();
+			}
+		};
+		return ResponseEntity.ok(body);
+	}
+	
+	@GetMapping(value = "/export", produces = AppConstant.MediaTypes.APPLICATION_NDJSON)
+	public ResponseEntity<StreamingResponseBody> exportAll(
+			@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) {
+		log.info("*** StreamingResponseBody, resource; export all users as NDJSON *");
+		final boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+		final StreamingResponseBody body = outputStream -> this.userExportService
+				.exportNdjson(gzip ? new GZIPOutputStream(outputStream, true) : outputStream);
+		final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(AppConstant.MediaTypes.APPLICATION_NDJSON))
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (gzip)
+			response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		return response.body(body);
+	}
+	
 	@GetMapping("/{userId}")
 	public ResponseEntity<UserDto> findById(
 			@PathVariable("userId") 
 			@NotBlank(message = "Input must not blank") 
 			@Valid final String userId) {
 		log.info("*** UserDto, resource; fetch user by id *");
-		return ResponseEntity.ok(this.userService.findById(Integer.parseInt(userId.strip())));
+		final UserDto userDto = this.userService.findById(Integer.parseInt(userId.strip()));
+		return EntityTagHelper.ok(EntityTagHelper.of(userDto)).body(userDto);
 	}
 	
 	@GetMapping("/username/{username}")
@@ -49,9 +125,36 @@ public class UserResource {
 			@PathVariable("username") 
 			@NotBlank(message = "Input must not blank") 
 			@Valid final String username) {
-		return ResponseEntity.ok(this.userService.findByUsername(username));
+		final UserDto userDto = this.userService.findByUsername(username);
+		return EntityTagHelper.ok(EntityTagHelper.of(userDto)).body(userDto);
 	}
 
+	@PostMapping("/batch")
+	public ResponseEntity<DtoBatchResponse<Integer, UserDto>> findAllByIds(
+			@RequestBody 
+			@NotEmpty(message = "Input must not empty") 
+			@Valid final List<Integer> userIds) {
+		log.info("*** UserDto Map, resource; fetch users by ids *");
+		final Map<Integer, UserDto> users = this.userService.findAllByIds(userIds);
+		final List<Integer> missing = userIds.stream()
+				.filter(userId -> userId != null && !users.containsKey(userId))
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+		return ResponseEntity.ok(new DtoBatchResponse<>(users, missing));
+	}
+	
+	@PostMapping(value = "/bulk", consumes = AppConstant.MediaTypes.APPLICATION_NDJSON)
+	public ResponseEntity<DtoImportReport> importNdjson(final Reader rows) {
+		log.info("*** DtoImportReport, resource; bulk import users from NDJSON *");
+		return ResponseEntity.ok(this.userImportService.importNdjson(rows));
+	}
+	
+	@PostMapping(value = "/bulk", consumes = AppConstant.MediaTypes.TEXT_CSV)
+	public ResponseEntity<DtoImportReport> importCsv(final Reader rows) {
+		log.info("*** DtoImportReport, resource; bulk import users from CSV *");
+		return ResponseEntity.ok(this.userImportService.importCsv(rows));
+	}
+	
 	@PostMapping
 	public ResponseEntity<UserDto> save(
 			@RequestBody 
@@ -63,22 +166,28 @@ public class UserResource {
 	
 	@PutMapping
 	public ResponseEntity<UserDto> update(
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) final String ifMatch, 
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final UserDto userDto) {
 		log.info("*** UserDto, resource; update user *");
-		return ResponseEntity.ok(this.userService.update(userDto));
+		userDto.setVersion(EntityTagHelper.expectedVersion(ifMatch));
+		final UserDto updated = this.userService.update(userDto);
+		return EntityTagHelper.ok(EntityTagHelper.of(updated)).body(updated);
 	}
 	
 	@PutMapping("/{userId}")
 	public ResponseEntity<UserDto> update(
 			@PathVariable("userId") 
 			@NotBlank(message = "Input must not blank") final String userId, 
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) final String ifMatch, 
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final UserDto userDto) {
 		log.info("*** UserDto, resource; update user with userId *");
-		return ResponseEntity.ok(this.userService.update(Integer.parseInt(userId.strip()), userDto));
+		userDto.setVersion(EntityTagHelper.expectedVersion(ifMatch));
+		final UserDto updated = this.userService.update(Integer.parseInt(userId.strip()), userDto);
+		return EntityTagHelper.ok(EntityTagHelper.of(updated)).body(updated);
 	}
 	
 	@DeleteMapping("/{userId}")
@@ -1,9 +1,12 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,11 +14,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.VerificationTokenDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorResponse;
+import com.selimhorri.app.helper.EntityTagHelper;
 import com.selimhorri.app.service.VerificationTokenService;
 
 import lombok.RequiredArgsConstructor;
@@ -35,13 +43,36 @@ public class VerificationTokenResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.verificationTokenService.findAll()));
 	}
 	
+	@GetMapping(params = "limit")
+	public ResponseEntity<DtoCursorResponse<VerificationTokenDto>> findAll(
+			@RequestParam("limit") final int limit, 
+			@RequestParam(name = "after", required = false) final Integer after) {
+		log.info("*** VerificationTokenDto List, controller; fetch verificationTokens page *");
+		final List<VerificationTokenDto> page = this.verificationTokenService.findAll(after, limit);
+		final Integer nextCursor = page.size() == Math.min(limit, AppConstant.MAX_PAGE_SIZE) 
+				? page.get(page.size() - 1).getVerificationTokenId() 
+				: null;
+		return ResponseEntity.ok(new DtoCursorResponse<>(page, nextCursor));
+	}
+	
 	@GetMapping("/{verificationTokenId}")
 	public ResponseEntity<VerificationTokenDto> findById(
 			@PathVariable("verificationTokenId") 
 			@NotBlank(message = "Input must not blank") 
 			@Valid final String verificationTokenId) {
 		log.info("*** VerificationTokenDto, resource; fetch verificationToken by id *");
-		return ResponseEntity.ok(this.verificationTokenService.findById(Integer.parseInt(verificationTokenId.strip())));
+		final VerificationTokenDto verificationTokenDto = this.verificationTokenService.findById(Integer.parseInt(verificationTokenId.strip()));
+		return EntityTagHelper.ok(EntityTagHelper.of(verificationTokenDto)).body(verificationTokenDto);
+	}
+	
+	@GetMapping("/token/{token}")
+	public ResponseEntity<VerificationTokenDto> findByToken(
+			@PathVariable("token") 
+			@NotBlank(message = "Input must not blank") 
+			@Valid final String token) {
+		log.info("*** VerificationTokenDto, resource; fetch verificationToken by token *");
+		final VerificationTokenDto verificationTokenDto = this.verificationTokenService.findByToken(token);
+		return EntityTagHelper.ok(EntityTagHelper.of(verificationTokenDto)).body(verificationTokenDto);
 	}
 	
 	@PostMapping
@@ -57,11 +88,14 @@ public class VerificationTokenResource {
 	public ResponseEntity<VerificationTokenDto> update(
 			@PathVariable("verificationTokenId") 
 			@NotBlank(message = "Input must not blank") final String verificationTokenId, 
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) final String ifMatch, 
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final VerificationTokenDto verificationTokenDto) {
 		log.info("*** VerificationTokenDto, resource; update verificationToken with verificationTokenId *");
-		return ResponseEntity.ok(this.verificationTokenService.update(Integer.parseInt(verificationTokenId.strip()), verificationTokenDto));
+		verificationTokenDto.setVersion(EntityTagHelper.expectedVersion(ifMatch));
+		final VerificationTokenDto updated = this.verificationTokenService.update(Integer.parseInt(verificationTokenId.strip()), verificationTokenDto);
+		return EntityTagHelper.ok(EntityTagHelper.of(updated)).body(updated);
 	}
 	
 	@DeleteMapping("/{verificationTokenId}")
@@ -0,0 +1,47 @@
+package com.selimhorri.app.security;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks the highest BCrypt cost whose hash time stays within a target latency on
+ * the current hardware. Each cost step doubles the work, so a single timing at the
+ * cheapest cost is enough to extrapolate the rest.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BCryptStrengthCalibrator {
+	
+	static final int PROBE_STRENGTH = 4;
+	private static final int PROBE_ROUNDS = 8;
+	
+	public static int calibrate(final Duration targetLatency, final int minStrength, final int maxStrength) {
+		final BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+		probe.encode("calibration"); // warm up
+		final long start = System.nanoTime();
+		for (int i = 0; i < PROBE_ROUNDS; i++)
+			probe.encode("calibration");
+		final long probeNanos = (System.nanoTime() - start) / PROBE_ROUNDS;
+		
+		final int strength = strengthFor(probeNanos, targetLatency.toNanos(), minStrength, maxStrength);
+		log.info("*** Integer, security; bcrypt cost {} selected ({} ns at cost {}, target {}) *", 
+				strength, probeNanos, PROBE_STRENGTH, targetLatency);
+		return strength;
+	}
+	
+	static int strengthFor(final long probeNanos, final long targetNanos, final int minStrength, final int maxStrength) {
+		int strength = PROBE_STRENGTH;
+		long estimatedNanos = Math.max(1L, probeNanos);
+		while (strength < maxStrength && estimatedNanos * 2 <= targetNanos) {
+			estimatedNanos *= 2;
+			strength++;
+		}
+		return Math.max(minStrength, Math.min(maxStrength, strength));
+	}
+	
+}
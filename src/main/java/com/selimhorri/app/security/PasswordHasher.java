@@ -0,0 +1,143 @@
+package com.selimhorri.app.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.enconder.PasswordHashingProperties;
+import com.selimhorri.app.exception.wrapper.PasswordHashingUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs {@link PasswordEncoder#encode} on a dedicated, bounded pool so bursts of
+ * credential writes queue up here (and are rejected once the queue is full)
+ * instead of pinning every servlet thread on BCrypt. Pool and queue usage is
+ * published as {@code executor.*{name=password.hashing}}, rejections as
+ * {@code password.hashing.rejected}.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+	
+	private static final String EXECUTOR_NAME = "password.hashing";
+	private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2(a|y|b)?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+	
+	private final PasswordEncoder passwordEncoder;
+	private final PasswordHashingProperties properties;
+	private final ThreadPoolExecutor pool;
+	private final ExecutorService executor;
+	private volatile String dummyHash;
+	
+	public PasswordHasher(final PasswordEncoder passwordEncoder, 
+			final PasswordHashingProperties properties, 
+			final MeterRegistry meterRegistry) {
+		this.passwordEncoder = passwordEncoder;
+		this.properties = properties;
+		final Counter rejected = meterRegistry.counter(EXECUTOR_NAME + ".rejected");
+		this.pool = new ThreadPoolExecutor(properties.getPoolSize(), properties.getPoolSize(), 
+				0L, TimeUnit.MILLISECONDS, 
+				new ArrayBlockingQueue<>(properties.getQueueCapacity()), 
+				new CustomizableThreadFactory("password-hashing-"), 
+				(task, executor) -> {
+					rejected.increment();
+					throw new PasswordHashingUnavailableException("Password hashing capacity exhausted, retry later");
+				});
+		this.executor = ExecutorServiceMetrics.monitor(meterRegistry, this.pool, EXECUTOR_NAME);
+	}
+	
+	public CompletableFuture<String> encodeAsync(final CharSequence rawPassword) {
+		return CompletableFuture.supplyAsync(() -> this.passwordEncoder.encode(rawPassword), this.executor);
+	}
+	
+	/**
+	 * Hashes on the pool and waits for the result, at most the configured timeout.
+	 */
+	public String encode(final CharSequence rawPassword) {
+		return this.await(this.encodeAsync(rawPassword));
+	}
+	
+	/**
+	 * Verifies on the pool; a missing hash is checked against a dummy one so unknown
+	 * usernames cost the same time as wrong passwords.
+	 */
+	public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+		final boolean matches = this.await(CompletableFuture.supplyAsync(
+				() -> rawPassword != null && this.passwordEncoder.matches(rawPassword, 
+						encodedPassword != null ? encodedPassword : this.dummyHash()), 
+				this.executor));
+		return matches && encodedPassword != null;
+	}
+	
+	/**
+	 * Whether a stored hash was produced with a weaker cost than the current one.
+	 */
+	public boolean needsUpgrade(final String encodedPassword) {
+		return isEncoded(encodedPassword) && this.passwordEncoder.upgradeEncoding(encodedPassword);
+	}
+	
+	private String dummyHash() {
+		String dummy = this.dummyHash;
+		if (dummy == null) {
+			dummy = this.passwordEncoder.encode("dummy-password");
+			this.dummyHash = dummy;
+		}
+		return dummy;
+	}
+	
+	private <T> T await(final CompletableFuture<T> result) {
+		try {
+			return result.get(this.properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			result.cancel(false);
+			throw new PasswordHashingUnavailableException("Password hashing timed out, retry later");
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PasswordHashingUnavailableException("Password hashing interrupted");
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+	
+	/**
+	 * Returns the value to store for a submitted password, meant to be called before the
+	 * transaction that stores it: null when none was submitted (the stored hash is kept, reads
+	 * never expose it), unchanged when it already is a BCrypt hash, freshly encoded otherwise.
+	 */
+	public String encodeIfRaw(final String submittedPassword) {
+		if (submittedPassword == null || isEncoded(submittedPassword)) {
+			log.debug("*** String, security; password unchanged, skip hashing *");
+			return submittedPassword;
+		}
+		return this.encode(submittedPassword);
+	}
+	
+	public static boolean isEncoded(final String password) {
+		return password != null && BCRYPT_PATTERN.matcher(password).matches();
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		this.pool.shutdown();
+	}
+	
+}
@@ -7,12 +7,14 @@ import com.selimhorri.app.dto.CredentialDto;
 public interface CredentialService {
 	
 	List<CredentialDto> findAll();
+	List<CredentialDto> findAll(final Integer after, final int limit);
 	CredentialDto findById(final Integer credentialId);
 	CredentialDto save(final CredentialDto credentialDto);
 	CredentialDto update(final CredentialDto credentialDto);
 	CredentialDto update(final Integer credentialId, final CredentialDto credentialDto);
 	void deleteById(final Integer credentialId);
 	CredentialDto findByUsername(final String username);
+	boolean verify(final String username, final String rawPassword);
 	
 }
 
@@ -0,0 +1,12 @@
+package com.selimhorri.app.service;
+
+import java.io.Reader;
+
+import com.selimhorri.app.dto.response.DtoImportReport;
+
+public interface UserImportService {
+	
+	DtoImportReport importNdjson(final Reader rows);
+	DtoImportReport importCsv(final Reader rows);
+	
+}
@@ -1,13 +1,19 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import com.selimhorri.app.dto.UserDto;
 
 public interface UserService {
 	
 	List<UserDto> findAll();
+	List<UserDto> findAll(final Integer after, final int limit);
+	void streamAll(final Consumer<UserDto> consumer);
 	UserDto findById(final Integer userId);
+	Map<Integer, UserDto> findAllByIds(final Collection<Integer> userIds);
 	UserDto save(final UserDto userDto);
 	UserDto update(final UserDto userDto);
 	UserDto update(final Integer userId, final UserDto userDto);
@@ -7,7 +7,9 @@ import com.selimhorri.app.dto.VerificationTokenDto;
 public interface VerificationTokenService {
 	
 	List<VerificationTokenDto> findAll();
+	List<VerificationTokenDto> findAll(final Integer after, final int limit);
 	VerificationTokenDto findById(final Integer verificationTokenId);
+	VerificationTokenDto findByToken(final String token);
 	VerificationTokenDto save(final VerificationTokenDto verificationTokenDto);
 	VerificationTokenDto update(final VerificationTokenDto verificationTokenDto);
 	VerificationTokenDto update(final Integer verificationTokenId, final VerificationTokenDto verificationTokenDto);
@@ -3,14 +3,16 @@ package com.selimhorri.app.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Address;
 import com.selimhorri.app.dto.AddressDto;
 import com.selimhorri.app.exception.wrapper.AddressNotFoundException;
 import com.selimhorri.app.helper.AddressMappingHelper;
+import com.selimhorri.app.helper.EntityTagHelper;
 import com.selimhorri.app.repository.AddressRepository;
 import com.selimhorri.app.service.AddressService;
 
@@ -26,19 +28,33 @@ public class AddressServiceImpl implements AddressService {
 	private final AddressRepository addressRepository;
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<AddressDto> findAll() {
 		log.info("*** AddressDto List, service; fetch all addresss *");
-		return this.addressRepository.findAll()
+		return this.addressRepository.findAllViews()
+				.stream()
+				.map(AddressMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<AddressDto> findAll(final Integer after, final int limit) {
+		log.info("*** AddressDto List, service; fetch addresss page after id *");
+		if (limit < 1)
+			throw new IllegalArgumentException("Page limit must be greater than zero");
+		return this.addressRepository.findPageViewsAfter(after == null ? 0 : after,
+						PageRequest.of(0, Math.min(limit, AppConstant.MAX_PAGE_SIZE)))
 				.stream()
 				.map(AddressMappingHelper::map)
-				.distinct()
 				.collect(Collectors.toUnmodifiableList());
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public AddressDto findById(final Integer addressId) {
 		log.info("*** AddressDto, service; fetch address by id *");
-		return this.addressRepository.findById(addressId)
+		return this.addressRepository.findViewById(addressId)
 				.map(AddressMappingHelper::map)
 				.orElseThrow(() -> new AddressNotFoundException(
 						String.format("#### Address with id: %d not found! ####", addressId)));
@@ -55,17 +71,18 @@ public class AddressServiceImpl implements AddressService {
 		log.info("*** AddressDto, service; update address *");
 
 		// Buscar la dirección existente
-		Address existingAddress = this.addressRepository.findById(addressDto.getAddressId())
+		Address existingAddress = this.addressRepository.findWithUserByAddressId(addressDto.getAddressId())
 				.orElseThrow(() -> new AddressNotFoundException("Address not found"));
 
 		// Actualizar los campos editables
+		EntityTagHelper.checkVersion(addressDto.getVersion(), existingAddress);
 		existingAddress.setFullAddress(addressDto.getFullAddress());
 		existingAddress.setPostalCode(addressDto.getPostalCode());
 		existingAddress.setCity(addressDto.getCity());
 
 		// NO se cambia el usuario aquí, para mantener la asociación original
 
-		Address updatedAddress = this.addressRepository.save(existingAddress);
+		Address updatedAddress = this.addressRepository.saveAndFlush(existingAddress);
 		return AddressMappingHelper.map(updatedAddress);
 	}
 
@@ -73,10 +90,11 @@ public class AddressServiceImpl implements AddressService {
 	public AddressDto update(final Integer addressId, final AddressDto addressDto) {
 		log.info("*** AddressDto, service; update address with addressId *");
 
-		Address existingAddress = addressRepository.findById(addressId)
+		Address existingAddress = addressRepository.findWithUserByAddressId(addressId)
 				.orElseThrow(() -> new AddressNotFoundException("Address not found"));
 
 		// Actualizar campos permitidos
+		EntityTagHelper.checkVersion(addressDto.getVersion(), existingAddress);
 		existingAddress.setFullAddress(addressDto.getFullAddress());
 		existingAddress.setPostalCode(addressDto.getPostalCode());
 		existingAddress.setCity(addressDto.getCity());
@@ -85,7 +103,7 @@ public class AddressServiceImpl implements AddressService {
 		// del DTO)
 		// NO hacer: existingAddress.setUser(mappedUserFromDto);
 
-		Address updatedAddress = addressRepository.save(existingAddress);
+		Address updatedAddress = this.addressRepository.saveAndFlush(existingAddress);
 		return AddressMappingHelper.map(updatedAddress);
 	}
 
@@ -3,11 +3,17 @@ package com.selimhorri.app.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.cache.UsernameCacheInvalidator;
+import com.selimhorri.app.concurrent.SingleFlight;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.CredentialDto;
@@ -15,36 +21,67 @@ import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.exception.wrapper.UsernameAlreadyExistsException;
 import com.selimhorri.app.helper.CredentialMappingHelper;
+import com.selimhorri.app.helper.EntityTagHelper;
 import com.selimhorri.app.repository.CredentialRepository;
 import com.selimhorri.app.repository.UserRepository;
+import com.selimhorri.app.repository.projection.CredentialSecretView;
+import com.selimhorri.app.repository.projection.CredentialView;
+import com.selimhorri.app.security.PasswordHasher;
 import com.selimhorri.app.service.CredentialService;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Transactional
 @Slf4j
-@RequiredArgsConstructor
 public class CredentialServiceImpl implements CredentialService {
 
 	private final CredentialRepository credentialRepository;
 	private final UserRepository userRepository;
-	private final PasswordEncoder passwordEncoder;
+	private final PasswordHasher passwordHasher;
+	private final UsernameCacheInvalidator usernameCacheInvalidator;
+	private final TransactionTemplate transactionTemplate;
+
+	public CredentialServiceImpl(final CredentialRepository credentialRepository,
+			final UserRepository userRepository,
+			final PasswordHasher passwordHasher,
+			final UsernameCacheInvalidator usernameCacheInvalidator,
+			final PlatformTransactionManager transactionManager) {
+		this.credentialRepository = credentialRepository;
+		this.userRepository = userRepository;
+		this.passwordHasher = passwordHasher;
+		this.usernameCacheInvalidator = usernameCacheInvalidator;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<CredentialDto> findAll() {
 		log.info("*** CredentialDto List, service; fetch all credentials *");
-		return this.credentialRepository.findAll()
+		return this.credentialRepository.findAllViews()
+				.stream()
+				.map(CredentialMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<CredentialDto> findAll(final Integer after, final int limit) {
+		log.info("*** CredentialDto List, service; fetch credentials page after id *");
+		if (limit < 1)
+			throw new IllegalArgumentException("Page limit must be greater than zero");
+		return this.credentialRepository.findPageViewsAfter(after == null ? 0 : after,
+						PageRequest.of(0, Math.min(limit, AppConstant.MAX_PAGE_SIZE)))
 				.stream()
 				.map(CredentialMappingHelper::map)
-				.distinct()
 				.collect(Collectors.toUnmodifiableList());
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public CredentialDto findById(final Integer credentialId) {
 		log.info("*** CredentialDto, service; fetch credential by ids *");
+		// both the credential and the user it owns resolve from their second-level cache regions
 		return this.credentialRepository.findById(credentialId)
 				.map(CredentialMappingHelper::map)
 				.orElseThrow(() -> new CredentialNotFoundException(
@@ -52,15 +89,28 @@ public class CredentialServiceImpl implements CredentialService {
 	}
 
 	@Override
+	@SingleFlight
+	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = AppConstant.CacheName.CREDENTIALS_BY_USERNAME, key = "#username")
 	public CredentialDto findByUsername(final String username) {
-		return CredentialMappingHelper.map(this.credentialRepository.findByUsername(username)
+		return CredentialMappingHelper.map(this.credentialRepository.findWithUserByUsername(username)
 				.orElseThrow(() -> new UserObjectNotFoundException(
 						String.format("#### Credential with username: %s not found! ####", username))));
 	}
 
+	/**
+	 * Hashes first, with no transaction open, so a pooled connection never waits on BCrypt;
+	 * the uniqueness checks and the insert then run in one short transaction.
+	 */
 	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public CredentialDto save(final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, service; save credential *");
+		final String encodedPassword = this.passwordHasher.encode(credentialDto.getPassword());
+		return this.transactionTemplate.execute(status -> this.insert(credentialDto, encodedPassword));
+	}
+
+	private CredentialDto insert(final CredentialDto credentialDto, final String encodedPassword) {
 		credentialDto.setCredentialId(null);
 		if (credentialRepository.existsByUsername(credentialDto.getUsername())) {
 			throw new UsernameAlreadyExistsException("Username already exists: " + credentialDto.getUsername());
@@ -75,8 +125,6 @@ public class CredentialServiceImpl implements CredentialService {
 					"User with ID " + userId + " already has credentials. You may update them instead.");
 		}
 
-		String rawPassword = credentialDto.getPassword();
-		String encodedPassword = passwordEncoder.encode(rawPassword);
 		credentialDto.setPassword(encodedPassword);
 
 		Credential credential = CredentialMappingHelper.map(credentialDto);
@@ -86,44 +134,46 @@ public class CredentialServiceImpl implements CredentialService {
 		return CredentialMappingHelper.map(saved);
 	}
 
+	/**
+	 * Same split as {@link #save}: a submitted raw password is hashed before the transaction
+	 * that loads, checks and writes the credential.
+	 */
 	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public CredentialDto update(final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, service; update credential *");
-
-		Credential existingCredential = credentialRepository.findById(credentialDto.getCredentialId())
-				.orElseThrow(() -> new CredentialNotFoundException(
-						"Credential not found with id: " + credentialDto.getCredentialId()));
-
-		existingCredential.setUsername(credentialDto.getUsername());
-
-		// Codifica la nueva contraseña
-		String encodedPassword = passwordEncoder.encode(credentialDto.getPassword());
-		existingCredential.setPassword(encodedPassword);
-
-		existingCredential.setRoleBasedAuthority(credentialDto.getRoleBasedAuthority());
-		existingCredential.setIsEnabled(credentialDto.getIsEnabled());
-		existingCredential.setIsAccountNonExpired(credentialDto.getIsAccountNonExpired());
-		existingCredential.setIsAccountNonLocked(credentialDto.getIsAccountNonLocked());
-		existingCredential.setIsCredentialsNonExpired(credentialDto.getIsCredentialsNonExpired());
-
-		Credential updatedCredential = credentialRepository.save(existingCredential);
-
-		return CredentialMappingHelper.map(updatedCredential);
+		final String encodedPassword = this.passwordHasher.encodeIfRaw(credentialDto.getPassword());
+		return this.transactionTemplate.execute(status -> {
+			Credential existingCredential = credentialRepository.findWithUserByCredentialId(credentialDto.getCredentialId())
+					.orElseThrow(() -> new CredentialNotFoundException(
+							"Credential not found with id: " + credentialDto.getCredentialId()));
+			return this.apply(existingCredential, credentialDto, encodedPassword);
+		});
 	}
 
 	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public CredentialDto update(final Integer credentialId, final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, service; update credential with credentialId *");
+		final String encodedPassword = this.passwordHasher.encodeIfRaw(credentialDto.getPassword());
+		return this.transactionTemplate.execute(status -> {
+			Credential existingCredential = credentialRepository.findWithUserByCredentialId(credentialId)
+					.orElseThrow(() -> new CredentialNotFoundException(
+							"Credential not found with id: " + credentialDto.getCredentialId()));
+			return this.apply(existingCredential, credentialDto, encodedPassword);
+		});
+	}
 
-		Credential existingCredential = credentialRepository.findById(credentialId)
-				.orElseThrow(() -> new CredentialNotFoundException(
-						"Credential not found with id: " + credentialDto.getCredentialId()));
-
+	private CredentialDto apply(final Credential existingCredential, final CredentialDto credentialDto,
+			final String encodedPassword) {
+		EntityTagHelper.checkVersion(credentialDto.getVersion(), existingCredential);
+		this.usernameCacheInvalidator.invalidateCredential(existingCredential.getCredentialId(),
+				existingCredential.getUsername(), credentialDto.getUsername());
 		existingCredential.setUsername(credentialDto.getUsername());
 
-		// Codifica la nueva contraseña
-		String encodedPassword = passwordEncoder.encode(credentialDto.getPassword());
-		existingCredential.setPassword(encodedPassword);
+		// sin contraseña nueva se conserva el hash guardado
+		if (encodedPassword != null)
+			existingCredential.setPassword(encodedPassword);
 
 		existingCredential.setRoleBasedAuthority(credentialDto.getRoleBasedAuthority());
 		existingCredential.setIsEnabled(credentialDto.getIsEnabled());
@@ -131,21 +181,46 @@ public class CredentialServiceImpl implements CredentialService {
 		existingCredential.setIsAccountNonLocked(credentialDto.getIsAccountNonLocked());
 		existingCredential.setIsCredentialsNonExpired(credentialDto.getIsCredentialsNonExpired());
 
-		Credential updatedCredential = this.credentialRepository.save(existingCredential);
+		Credential updatedCredential = this.credentialRepository.saveAndFlush(existingCredential);
 
 		return CredentialMappingHelper.map(updatedCredential);
 	}
 
+	/**
+	 * Checks a password against the stored hash and, on success, transparently
+	 * re-hashes credentials stored with a cost lower than the current one.
+	 * No transaction spans the hashing: the secret is read in the repository's own
+	 * read-only transaction and the upgraded hash written in a short one of its own.
+	 */
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public boolean verify(final String username, final String rawPassword) {
+		log.info("*** Boolean, service; verify credential password *");
+		final CredentialSecretView credential = this.credentialRepository.findSecretByUsername(username).orElse(null);
+		final String storedPassword = credential != null ? credential.getPassword() : null;
+		if (!this.passwordHasher.matches(rawPassword, storedPassword))
+			return false;
+		
+		if (this.passwordHasher.needsUpgrade(storedPassword)) {
+			log.info("*** Boolean, service; upgrade password hash cost *");
+			final String upgradedPassword = this.passwordHasher.encode(rawPassword);
+			this.transactionTemplate.executeWithoutResult(status -> {
+				this.usernameCacheInvalidator.invalidateCredential(credential.getCredentialId(), username);
+				this.credentialRepository.updatePassword(credential.getCredentialId(), storedPassword, upgradedPassword);
+			});
+		}
+		return true;
+	}
+
 	@Transactional
 	@Override
 	public void deleteById(final Integer credentialId) {
 		log.info("*** Void, service; delete credential by id *");
 
-		boolean exists = credentialRepository.existsById(credentialId);
-		if (!exists) {
-			throw new CredentialNotFoundException("Credential with id: "+credentialId+" not found");
-		}
+		final CredentialView existing = this.credentialRepository.findViewById(credentialId)
+				.orElseThrow(() -> new CredentialNotFoundException("Credential with id: "+credentialId+" not found"));
 
+		this.usernameCacheInvalidator.invalidateCredential(credentialId, existing.getUsername());
 		this.credentialRepository.deleteByCredentialId(credentialId);
 	}
 
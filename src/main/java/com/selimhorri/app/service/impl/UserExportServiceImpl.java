@@ -0,0 +1,152 @@
+package com.selimhorri.app.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.service.UserExportService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dumps users with their credential and addresses as one JSON document per line.
+ * Rows come from a forward-only, read-only cursor ordered by user id, so consecutive
+ * rows of the same user are folded into a single line and nothing but the current
+ * fetch window is ever held in memory. Password hashes are never exported.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UserExportServiceImpl implements UserExportService {
+	
+	private static final String SELECT_EXPORT = 
+			"SELECT u.user_id, u.first_name, u.last_name, u.image_url, u.email, u.phone, u.created_at, u.updated_at, " 
+			+ "c.credential_id, c.username, c.role, c.is_enabled, c.is_account_non_expired, " 
+			+ "c.is_account_non_locked, c.is_credentials_non_expired, " 
+			+ "a.address_id, a.full_address, a.postal_code, a.city " 
+			+ "FROM users u " 
+			+ "LEFT JOIN credentials c ON c.user_id = u.user_id " 
+			+ "LEFT JOIN address a ON a.user_id = u.user_id " 
+			+ "ORDER BY u.user_id";
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+	
+	@Override
+	@Transactional(readOnly = true)
+	public long exportNdjson(final OutputStream outputStream) {
+		log.info("*** Long, service; export users with credentials and addresses as NDJSON *");
+		try (final JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream)) {
+			generator.setRootValueSeparator(null);
+			final NdjsonRowWriter writer = new NdjsonRowWriter(generator);
+			this.jdbcTemplate.query(connection -> {
+				final PreparedStatement statement = connection.prepareStatement(SELECT_EXPORT, 
+						ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+				statement.setFetchSize(AppConstant.EXPORT_FETCH_SIZE);
+				return statement;
+			}, writer);
+			writer.finish();
+			return writer.users;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	@RequiredArgsConstructor
+	private static final class NdjsonRowWriter implements RowCallbackHandler {
+		
+		private final JsonGenerator generator;
+		private long users;
+		private int currentUserId;
+		
+		@Override
+		public void processRow(final ResultSet rs) throws SQLException {
+			try {
+				final int userId = rs.getInt("user_id");
+				if (this.users == 0 || userId != this.currentUserId) {
+					this.finish();
+					this.startUser(rs, userId);
+				}
+				final int addressId = rs.getInt("address_id");
+				if (!rs.wasNull()) {
+					this.generator.writeStartObject();
+					this.generator.writeNumberField("addressId", addressId);
+					this.generator.writeStringField("fullAddress", rs.getString("full_address"));
+					this.generator.writeStringField("postalCode", rs.getString("postal_code"));
+					this.generator.writeStringField("city", rs.getString("city"));
+					this.generator.writeEndObject();
+				}
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		
+		private void startUser(final ResultSet rs, final int userId) throws SQLException, IOException {
+			this.currentUserId = userId;
+			this.users++;
+			this.generator.writeStartObject();
+			this.generator.writeNumberField("userId", userId);
+			this.generator.writeStringField("firstName", rs.getString("first_name"));
+			this.generator.writeStringField("lastName", rs.getString("last_name"));
+			this.generator.writeStringField("imageUrl", rs.getString("image_url"));
+			this.generator.writeStringField("email", rs.getString("email"));
+			this.generator.writeStringField("phone", rs.getString("phone"));
+			writeInstantField(this.generator, "createdAt", rs.getTimestamp("created_at"));
+			writeInstantField(this.generator, "updatedAt", rs.getTimestamp("updated_at"));
+			final int credentialId = rs.getInt("credential_id");
+			if (rs.wasNull())
+				this.generator.writeNullField("credential");
+			else {
+				this.generator.writeObjectFieldStart("credential");
+				this.generator.writeNumberField("credentialId", credentialId);
+				this.generator.writeStringField("username", rs.getString("username"));
+				this.generator.writeStringField("role", rs.getString("role"));
+				this.generator.writeBooleanField("isEnabled", rs.getBoolean("is_enabled"));
+				this.generator.writeBooleanField("isAccountNonExpired", rs.getBoolean("is_account_non_expired"));
+				this.generator.writeBooleanField("isAccountNonLocked", rs.getBoolean("is_account_non_locked"));
+				this.generator.writeBooleanField("isCredentialsNonExpired", rs.getBoolean("is_credentials_non_expired"));
+				this.generator.writeEndObject();
+			}
+			this.generator.writeArrayFieldStart("addresses");
+		}
+		
+		/**
+		 * Closes the pending user line. The first line is flushed right away so clients
+		 * see data immediately, later ones once per fetch window.
+		 */
+		private void finish() throws IOException {
+			if (this.users == 0)
+				return;
+			this.generator.writeEndArray();
+			this.generator.writeEndObject();
+			this.generator.writeRaw('\n');
+			if (this.users == 1 || this.users % AppConstant.EXPORT_FETCH_SIZE == 0)
+				this.generator.flush();
+		}
+		
+		private static void writeInstantField(final JsonGenerator generator, final String name, 
+				final Timestamp timestamp) throws IOException {
+			if (timestamp == null)
+				generator.writeNullField(name);
+			else
+				generator.writeStringField(name, timestamp.toInstant().toString());
+		}
+		
+	}
+	
+}
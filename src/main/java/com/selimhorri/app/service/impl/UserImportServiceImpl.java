@@ -0,0 +1,324 @@
+package com.selimhorri.app.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.cache.UsernameCacheInvalidator;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.DtoImportReport;
+import com.selimhorri.app.dto.response.DtoImportReport.RowError;
+import com.selimhorri.app.security.PasswordHasher;
+import com.selimhorri.app.service.UserImportService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams user rows into {@code users} and their credentials into {@code credentials} with
+ * JDBC batch inserts, committing every {@link AppConstant#IMPORT_CHUNK_SIZE} rows. Entity saves
+ * cannot batch because of the IDENTITY ids, plain JDBC can, and hands the generated user ids
+ * back for the credential batch. Every read path joins the credential, so a row without a
+ * username is rejected rather than imported as a user nobody can see. When a chunk fails, its
+ * rows are retried one by one so only the offending rows are rejected.
+ * <p>
+ * A row may carry a password only as an existing BCrypt hash, hashing one per row would stall
+ * the import; the credential is enabled if it does. Otherwise it is created disabled, without
+ * a password, until one is set through {@code PUT /api/credentials}.
+ */
+@Service
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+	
+	private static final String INSERT_USER = 
+			"INSERT INTO users (first_name, last_name, image_url, email, phone) VALUES (?, ?, ?, ?, ?)";
+	private static final String INSERT_CREDENTIAL = 
+			"INSERT INTO credentials (user_id, username, password, role, is_enabled) VALUES (?, ?, ?, ?, ?)";
+	private static final List<String> CSV_COLUMNS = 
+			List.of("firstName", "lastName", "imageUrl", "email", "phone", "username", "password");
+	private static final int MAX_COLUMN_LENGTH = 255;
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper objectMapper;
+	private final UsernameCacheInvalidator usernameCacheInvalidator;
+	private final EntityManagerFactory entityManagerFactory;
+	
+	public UserImportServiceImpl(final JdbcTemplate jdbcTemplate, 
+			final PlatformTransactionManager transactionManager, 
+			final ObjectMapper objectMapper, 
+			final UsernameCacheInvalidator usernameCacheInvalidator, 
+			final EntityManagerFactory entityManagerFactory) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.objectMapper = objectMapper;
+		this.usernameCacheInvalidator = usernameCacheInvalidator;
+		this.entityManagerFactory = entityManagerFactory;
+	}
+	
+	@Override
+	public DtoImportReport importNdjson(final Reader rows) {
+		log.info("*** DtoImportReport, service; import users from NDJSON *");
+		return this.importLines(rows, false, line -> {
+			try {
+				return this.objectMapper.readValue(line, UserDto.class);
+			}
+			catch (JsonProcessingException e) {
+				throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+			}
+		});
+	}
+	
+	@Override
+	public DtoImportReport importCsv(final Reader rows) {
+		log.info("*** DtoImportReport, service; import users from CSV *");
+		final Map<String, Integer> header = new HashMap<>();
+		return this.importLines(rows, true, line -> {
+			final List<String> fields = parseCsvLine(line);
+			if (header.isEmpty()) {
+				for (int i = 0; i < fields.size(); i++)
+					header.put(fields.get(i).strip(), i);
+				if (!header.keySet().containsAll(List.of("firstName", "lastName", "username")))
+					throw new IllegalArgumentException(
+							"CSV header must name at least firstName, lastName and username, one of " + CSV_COLUMNS);
+				return null;
+			}
+			final Function<String, String> field = column -> {
+				final Integer index = header.get(column);
+				return index == null || index >= fields.size() || fields.get(index).isEmpty() ? null : fields.get(index);
+			};
+			return UserDto.builder()
+					.firstName(field.apply("firstName"))
+					.lastName(field.apply("lastName"))
+					.imageUrl(field.apply("imageUrl"))
+					.email(field.apply("email"))
+					.phone(field.apply("phone"))
+					.credentialDto(CredentialDto.builder()
+							.username(field.apply("username"))
+							.password(field.apply("password"))
+							.build())
+					.build();
+		});
+	}
+	
+	/**
+	 * @param header whether the first non-blank line is a header ({@code parser} returns null for it)
+	 */
+	private DtoImportReport importLines(final Reader rows, final boolean header, final Function<String, UserDto> parser) {
+		final Report report = new Report();
+		final List<ImportRow> chunk = new ArrayList<>(AppConstant.IMPORT_CHUNK_SIZE);
+		final List<Long> chunkRows = new ArrayList<>(AppConstant.IMPORT_CHUNK_SIZE);
+		final BufferedReader reader = rows instanceof BufferedReader ? (BufferedReader) rows : new BufferedReader(rows);
+		boolean headerPending = header;
+		long row = 0;
+		try {
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				if (line.isBlank())
+					continue;
+				if (headerPending) {
+					headerPending = false;
+					parser.apply(line);
+					continue;
+				}
+				row++;
+				report.received++;
+				try {
+					chunk.add(toImportRow(parser.apply(line)));
+					chunkRows.add(row);
+				}
+				catch (IllegalArgumentException e) {
+					report.reject(row, e.getMessage());
+				}
+				if (chunk.size() == AppConstant.IMPORT_CHUNK_SIZE)
+					this.flush(chunk, chunkRows, report);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		this.flush(chunk, chunkRows, report);
+		log.info("*** DtoImportReport, service; imported {} of {} users *", report.imported, report.received);
+		return report.toDto();
+	}
+	
+	private void flush(final List<ImportRow> chunk, final List<Long> chunkRows, final Report report) {
+		if (chunk.isEmpty())
+			return;
+		try {
+			this.transactionTemplate.executeWithoutResult(status -> this.insert(chunk));
+			report.imported += chunk.size();
+		}
+		catch (DataAccessException e) {
+			log.warn("*** DtoImportReport, service; chunk rejected, retrying row by row: {} *", e.getMostSpecificCause().getMessage());
+			for (int i = 0; i < chunk.size(); i++) {
+				final List<ImportRow> single = List.of(chunk.get(i));
+				try {
+					this.transactionTemplate.executeWithoutResult(status -> this.insert(single));
+					report.imported++;
+				}
+				catch (DataAccessException rowFailure) {
+					report.reject(chunkRows.get(i), rowFailure.getMostSpecificCause().getMessage());
+				}
+			}
+		}
+		// JDBC writes bypass Hibernate, so a cached "no such username" would outlive the import
+		final Cache hibernateCache = this.entityManagerFactory.unwrap(SessionFactory.class).getCache();
+		hibernateCache.evictQueryRegion(AppConstant.CacheRegion.USERS_BY_USERNAME_QUERY);
+		hibernateCache.evictQueryRegion(AppConstant.CacheRegion.CREDENTIALS_BY_USERNAME_QUERY);
+		chunk.clear();
+		chunkRows.clear();
+	}
+	
+	/**
+	 * Inserts the users in one batch, then their credentials against the generated user ids.
+	 */
+	private void insert(final List<ImportRow> rows) {
+		final List<Integer> userIds = this.jdbcTemplate.execute((ConnectionCallback<List<Integer>>) connection -> {
+			try (final PreparedStatement statement = connection.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS)) {
+				for (final ImportRow row : rows) {
+					for (int i = 0; i < row.user.length; i++)
+						StatementCreatorUtils.setParameterValue(statement, i + 1, SqlTypeValue.TYPE_UNKNOWN, row.user[i]);
+					statement.addBatch();
+				}
+				statement.executeBatch();
+				final List<Integer> ids = new ArrayList<>(rows.size());
+				try (final ResultSet keys = statement.getGeneratedKeys()) {
+					while (keys.next())
+						ids.add(keys.getInt(1));
+				}
+				return ids;
+			}
+		});
+		if (userIds == null || userIds.size() != rows.size())
+			throw new IncorrectResultSizeDataAccessException("Generated user ids do not match the batch", 
+					rows.size(), userIds == null ? 0 : userIds.size());
+		final List<Object[]> credentials = new ArrayList<>(rows.size());
+		for (int i = 0; i < rows.size(); i++) {
+			final ImportRow row = rows.get(i);
+			credentials.add(new Object[] { 
+					userIds.get(i), row.username, row.password, row.role.name(), row.password != null });
+		}
+		this.jdbcTemplate.batchUpdate(INSERT_CREDENTIAL, credentials);
+		this.usernameCacheInvalidator.invalidateCredential(null, 
+				rows.stream().map(row -> row.username).toArray(String[]::new));
+	}
+	
+	private static ImportRow toImportRow(final UserDto userDto) {
+		if (userDto == null)
+			throw new IllegalArgumentException("Empty row");
+		if (userDto.getFirstName() == null || userDto.getFirstName().isBlank())
+			throw new IllegalArgumentException("firstName is required");
+		if (userDto.getLastName() == null || userDto.getLastName().isBlank())
+			throw new IllegalArgumentException("lastName is required");
+		final Object[] arguments = { 
+				userDto.getFirstName(), userDto.getLastName(), userDto.getImageUrl(), userDto.getEmail(), userDto.getPhone() };
+		for (int i = 0; i < arguments.length; i++)
+			if (arguments[i] != null && ((String) arguments[i]).length() > MAX_COLUMN_LENGTH)
+				throw new IllegalArgumentException(CSV_COLUMNS.get(i) + " exceeds " + MAX_COLUMN_LENGTH + " characters");
+		final CredentialDto credentialDto = userDto.getCredentialDto();
+		if (credentialDto == null || credentialDto.getUsername() == null || credentialDto.getUsername().isBlank())
+			throw new IllegalArgumentException("username is required");
+		if (credentialDto.getUsername().length() > MAX_COLUMN_LENGTH)
+			throw new IllegalArgumentException("username exceeds " + MAX_COLUMN_LENGTH + " characters");
+		if (credentialDto.getPassword() != null && !PasswordHasher.isEncoded(credentialDto.getPassword()))
+			throw new IllegalArgumentException("password must be a BCrypt hash");
+		return new ImportRow(arguments, credentialDto.getUsername(), credentialDto.getPassword(), 
+				credentialDto.getRoleBasedAuthority() != null ? credentialDto.getRoleBasedAuthority() : RoleBasedAuthority.ROLE_USER);
+	}
+	
+	/**
+	 * RFC 4180 fields on a single line: comma separated, optionally double-quoted with "" escapes.
+	 */
+	static List<String> parseCsvLine(final String line) {
+		final List<String> fields = new ArrayList<>();
+		final StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			final char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				}
+				else if (c == '"')
+					quoted = false;
+				else
+					field.append(c);
+			}
+			else if (c == '"')
+				quoted = true;
+			else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			}
+			else
+				field.append(c);
+		}
+		if (quoted)
+			throw new IllegalArgumentException("Unterminated quoted field");
+		fields.add(field.toString());
+		return fields;
+	}
+	
+	@RequiredArgsConstructor
+	private static final class ImportRow {
+		
+		private final Object[] user;
+		private final String username;
+		private final String password;
+		private final RoleBasedAuthority role;
+		
+	}
+	
+	private static final class Report {
+		
+		private long received;
+		private long imported;
+		private long failed;
+		private final List<RowError> errors = new ArrayList<>();
+		
+		private void reject(final long row, final String message) {
+			this.failed++;
+			if (this.errors.size() < AppConstant.MAX_IMPORT_ERRORS)
+				this.errors.add(new RowError(row, message));
+		}
+		
+		private DtoImportReport toDto() {
+			this.errors.sort(Comparator.comparingLong(RowError::getRow));
+			return new DtoImportReport(this.received, this.imported, this.failed, List.copyOf(this.errors));
+		}
+		
+	}
+	
+}
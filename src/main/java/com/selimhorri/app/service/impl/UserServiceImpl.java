@@ -1,19 +1,33 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityNotFoundException;
-import javax.transaction.Transactional;
-
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.cache.UsernameCacheInvalidator;
+import com.selimhorri.app.concurrent.SingleFlight;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
+import com.selimhorri.app.helper.EntityTagHelper;
 import com.selimhorri.app.helper.UserMappingHelper;
 import com.selimhorri.app.repository.CredentialRepository;
 import com.selimhorri.app.repository.UserRepository;
+import com.selimhorri.app.repository.projection.UserView;
 import com.selimhorri.app.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -27,30 +41,85 @@ public class UserServiceImpl implements UserService {
 
 	private final UserRepository userRepository;
 	private final CredentialRepository credentialRepository;
+	private final UsernameCacheInvalidator usernameCacheInvalidator;
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<UserDto> findAll() {
 		log.info("*** UserDto List, service; fetch all users with credentials *");
-		return this.userRepository.findAll()
+		return this.userRepository.findAllViews()
 				.stream()
-				.filter(user -> user.getCredential() != null) // Asumiendo que hay un getCredentials()
 				.map(UserMappingHelper::map)
-				.distinct()
 				.collect(Collectors.toUnmodifiableList());
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public List<UserDto> findAll(final Integer after, final int limit) {
+		log.info("*** UserDto List, service; fetch users page after id *");
+		if (limit < 1)
+			throw new IllegalArgumentException("Page limit must be greater than zero");
+		return this.userRepository.findPageViewsAfter(after == null ? 0 : after,
+						PageRequest.of(0, Math.min(limit, AppConstant.MAX_PAGE_SIZE)))
+				.stream()
+				.map(UserMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void streamAll(final Consumer<UserDto> consumer) {
+		log.info("*** Void, service; stream all users with credentials *");
+		try (final Stream<UserView> users = this.userRepository.streamAllViews()) {
+			users.map(UserMappingHelper::map).forEach(consumer);
+		}
+	}
+
+	@Override
+	@SingleFlight
+	@Transactional(readOnly = true)
 	public UserDto findById(final Integer userId) {
 		log.info("*** UserDto, service; fetch user by id with credentials *");
+		// the user comes from its second-level cache region, the credential (inverse side) by user_id
 		return this.userRepository.findById(userId)
-				.filter(user -> user.getCredential() != null) // Filtramos que tenga credenciales
+				.filter(user -> user.getCredential() != null)
 				.map(UserMappingHelper::map)
 				.orElseThrow(
 						() -> new UserObjectNotFoundException(
 								String.format("User with id: %d not found or has no credentials", userId)));
 	}
 
+	/**
+	 * Resolves all ids with a single IN query; ids without a user (or without credentials)
+	 * are simply absent from the returned map, which keeps the request order.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Map<Integer, UserDto> findAllByIds(final Collection<Integer> userIds) {
+		log.info("*** UserDto Map, service; fetch users by ids with credentials *");
+		final Set<Integer> ids = userIds.stream()
+				.filter(Objects::nonNull)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		if (ids.size() > AppConstant.MAX_BATCH_SIZE)
+			throw new IllegalArgumentException(
+					String.format("At most %d user ids can be fetched at once", AppConstant.MAX_BATCH_SIZE));
+		if (ids.isEmpty())
+			return Map.of();
+
+		final Map<Integer, UserDto> usersById = this.userRepository.findViewsByIdIn(ids).stream()
+				.map(UserMappingHelper::map)
+				.collect(Collectors.toMap(UserDto::getUserId, userDto -> userDto));
+		final Map<Integer, UserDto> users = new LinkedHashMap<>();
+		ids.stream()
+				.filter(usersById::containsKey)
+				.forEach(id -> users.put(id, usersById.get(id)));
+		return users;
+	}
+
 	@Override
+	@SingleFlight
+	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = AppConstant.CacheName.USERS_BY_USERNAME, key = "#username")
 	public UserDto findByUsername(final String username) {
 		log.info("*** UserDto, service; fetch user with username *");
 		return UserMappingHelper.map(this.userRepository.findByCredentialUsername(username)
@@ -70,11 +139,13 @@ public class UserServiceImpl implements UserService {
 		log.info("*** UserDto, service; update user ***");
 
 		// Buscar el usuario y verificar que tenga credenciales
-		User existingUser = this.userRepository.findById(userDto.getUserId())
+		User existingUser = this.userRepository.findWithCredentialByUserId(userDto.getUserId())
 				.filter(user -> user.getCredential() != null) // Solo si tiene credenciales
 				.orElseThrow(() -> new EntityNotFoundException(
 						"User not found or has no credentials (cannot update)"));
 
+		EntityTagHelper.checkVersion(userDto.getVersion(), existingUser);
+
 		// Actualizar campos permitidos
 		existingUser.setFirstName(userDto.getFirstName());
 		existingUser.setLastName(userDto.getLastName());
@@ -82,7 +153,8 @@ public class UserServiceImpl implements UserService {
 		existingUser.setEmail(userDto.getEmail());
 		existingUser.setPhone(userDto.getPhone());
 
-		return UserMappingHelper.map(this.userRepository.save(existingUser));
+		this.usernameCacheInvalidator.invalidateUser(existingUser.getUserId(), existingUser.getCredential().getUsername());
+		return UserMappingHelper.map(this.userRepository.saveAndFlush(existingUser));
 	}
 
 	@Override
@@ -90,11 +162,13 @@ public class UserServiceImpl implements UserService {
 		log.info("*** UserDto, service; update user with userId ***");
 
 		// Verificar que el usuario existe y tiene credenciales
-		User existingUser = this.userRepository.findById(userId)
+		User existingUser = this.userRepository.findWithCredentialByUserId(userId)
 				.filter(user -> user.getCredential() != null) // Solo si tiene credenciales
 				.orElseThrow(() -> new EntityNotFoundException(
 						"User not found with id: " + userId + " or has no credentials (cannot update)"));
 
+		EntityTagHelper.checkVersion(userDto.getVersion(), existingUser);
+
 		// Actualizar campos permitidos
 		existingUser.setFirstName(userDto.getFirstName());
 		existingUser.setLastName(userDto.getLastName());
@@ -102,7 +176,8 @@ public class UserServiceImpl implements UserService {
 		existingUser.setEmail(userDto.getEmail());
 		existingUser.setPhone(userDto.getPhone());
 
-		return UserMappingHelper.map(this.userRepository.save(existingUser));
+		this.usernameCacheInvalidator.invalidateUser(existingUser.getUserId(), existingUser.getCredential().getUsername());
+		return UserMappingHelper.map(this.userRepository.saveAndFlush(existingUser));
 	}
 
 	@Override
@@ -111,7 +186,7 @@ public class UserServiceImpl implements UserService {
 		log.info("*** Void, service; delete credentials from user by id ***");
 
 		// 1. Buscar el usuario y verificar que existe y tiene credenciales
-		User user = userRepository.findById(userId)
+		User user = userRepository.findWithCredentialByUserId(userId)
 				.orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
 
 		if (user.getCredential() == null) {
@@ -120,6 +195,7 @@ public class UserServiceImpl implements UserService {
 
 		// 2. Obtener el ID de las credenciales para borrarlas
 		Integer credentialsId = user.getCredential().getCredentialId();
+		this.usernameCacheInvalidator.invalidateCredential(credentialsId, user.getCredential().getUsername());
 
 		// 3. Desvincular las credenciales del usuario (para evitar inconsistencias)
 		user.setCredential(null);
@@ -3,15 +3,18 @@ package com.selimhorri.app.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.VerificationToken;
 import com.selimhorri.app.dto.VerificationTokenDto;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
 import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
+import com.selimhorri.app.helper.EntityTagHelper;
+import com.selimhorri.app.helper.TokenHashHelper;
 import com.selimhorri.app.helper.VerificationTokenMappingHelper;
 import com.selimhorri.app.repository.CredentialRepository;
 import com.selimhorri.app.repository.VerificationTokenRepository;
@@ -30,24 +33,49 @@ public class VerificationTokenServiceImpl implements VerificationTokenService{
 	private final CredentialRepository credentialRepository;
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<VerificationTokenDto> findAll() {
 		log.info("*** VerificationTokenDto List, service; fetch all verificationTokens *");
-		return this.verificationTokenRepository.findAll()
+		return this.verificationTokenRepository.findAllViews()
+				.stream()
+				.map(VerificationTokenMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<VerificationTokenDto> findAll(final Integer after, final int limit) {
+		log.info("*** VerificationTokenDto List, service; fetch verificationTokens page after id *");
+		if (limit < 1)
+			throw new IllegalArgumentException("Page limit must be greater than zero");
+		return this.verificationTokenRepository.findPageViewsAfter(after == null ? 0 : after,
+						PageRequest.of(0, Math.min(limit, AppConstant.MAX_PAGE_SIZE)))
 				.stream()
 				.map(VerificationTokenMappingHelper::map)
-				.distinct()
 				.collect(Collectors.toUnmodifiableList());
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public VerificationTokenDto findById(final Integer verificationTokenId) {
 		log.info("*** VerificationTokenDto, service; fetch verificationToken by ids *");
-		return this.verificationTokenRepository.findById(verificationTokenId)
+		return this.verificationTokenRepository.findViewById(verificationTokenId)
 				.map(VerificationTokenMappingHelper::map)
 				.orElseThrow(() -> new VerificationTokenNotFoundException(String
 						.format("#### VerificationToken with id: %d not found! ####", verificationTokenId)));
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public VerificationTokenDto findByToken(final String token) {
+		log.info("*** VerificationTokenDto, service; fetch verificationToken by token *");
+		return this.verificationTokenRepository.findViewsByTokenHash(TokenHashHelper.hash(token))
+				.stream()
+				.findFirst()
+				.map(VerificationTokenMappingHelper::map)
+				.orElseThrow(() -> new VerificationTokenNotFoundException("#### VerificationToken not found! ####"));
+	}
+
 	@Override
 	public VerificationTokenDto save(final VerificationTokenDto verificationTokenDto) {
 		log.info("*** VerificationTokenDto, service; save verificationToken *");
@@ -82,17 +110,17 @@ public class VerificationTokenServiceImpl implements VerificationTokenService{
 
 		// Obtener el token actual desde la base de datos
 		VerificationToken existingToken = verificationTokenRepository
-				.findById(verificationTokenDto.getVerificationTokenId())
+				.findWithCredentialByVerificationTokenId(verificationTokenDto.getVerificationTokenId())
 				.orElseThrow(() -> new VerificationTokenNotFoundException("Token not found"));
 
-		// Mapear el DTO sin cambiar la credencial
-		VerificationToken updatedToken = VerificationTokenMappingHelper.mapOnlyVerificationToken(verificationTokenDto);
+		EntityTagHelper.checkVersion(verificationTokenDto.getVersion(), existingToken);
 
-		// Restaurar la relación original con la Credential
-		updatedToken.setCredential(existingToken.getCredential());
+		// Actualizar la entidad gestionada, sin cambiar la credencial
+		existingToken.setToken(verificationTokenDto.getToken());
+		existingToken.setExpireDate(verificationTokenDto.getExpireDate());
 
 		// Guardar y retornar
-		return VerificationTokenMappingHelper.map(verificationTokenRepository.save(updatedToken));
+		return VerificationTokenMappingHelper.map(this.verificationTokenRepository.saveAndFlush(existingToken));
 	}
 
 	@Override
@@ -102,20 +130,17 @@ public class VerificationTokenServiceImpl implements VerificationTokenService{
 
 		// Obtener el token actual desde la base de datos
 		VerificationToken existingToken = verificationTokenRepository
-				.findById(verificationTokenId)
+				.findWithCredentialByVerificationTokenId(verificationTokenId)
 				.orElseThrow(() -> new VerificationTokenNotFoundException("Token not found"));
 
-		// Mapear el DTO sin cambiar la credencial
-		VerificationToken updatedToken = VerificationTokenMappingHelper.mapOnlyVerificationToken(verificationTokenDto);
-
-		// Restaurar la relación original con la Credential
-		updatedToken.setCredential(existingToken.getCredential());
+		EntityTagHelper.checkVersion(verificationTokenDto.getVersion(), existingToken);
 
-		// Asegurarse de que se mantenga el mismo ID
-		updatedToken.setVerificationTokenId(existingToken.getVerificationTokenId());
+		// Actualizar la entidad gestionada, sin cambiar la credencial
+		existingToken.setToken(verificationTokenDto.getToken());
+		existingToken.setExpireDate(verificationTokenDto.getExpireDate());
 
 		// Guardar y retornar
-		return VerificationTokenMappingHelper.map(verificationTokenRepository.save(updatedToken));
+		return VerificationTokenMappingHelper.map(this.verificationTokenRepository.saveAndFlush(existingToken));
 	}
 
 	@Transactional
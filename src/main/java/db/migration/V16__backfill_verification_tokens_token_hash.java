@@ -0,0 +1,43 @@
+package db.migration;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import com.selimhorri.app.helper.TokenHashHelper;
+
+/**
+ * Fills {@code token_hash} for tokens written before V15; the digest is computed in
+ * Java because H2 and MySQL have no common SHA-256 function.
+ */
+public class V16__backfill_verification_tokens_token_hash extends BaseJavaMigration {
+	
+	private static final int BATCH_SIZE = 1000;
+	
+	@Override
+	public void migrate(final Context context) throws Exception {
+		try (final Statement select = context.getConnection().createStatement();
+				final ResultSet tokens = select.executeQuery(
+						"SELECT verification_token_id, verif_token FROM verification_tokens "
+						+ "WHERE token_hash IS NULL AND verif_token IS NOT NULL");
+				final PreparedStatement update = context.getConnection().prepareStatement(
+						"UPDATE verification_tokens SET token_hash = ? WHERE verification_token_id = ?")) {
+			int pending = 0;
+			while (tokens.next()) {
+				update.setBytes(1, TokenHashHelper.hash(tokens.getString(2)));
+				update.setInt(2, tokens.getInt(1));
+				update.addBatch();
+				if (++pending == BATCH_SIZE) {
+					update.executeBatch();
+					pending = 0;
+				}
+			}
+			if (pending > 0)
+				update.executeBatch();
+		}
+	}
+	
+}
@@ -0,0 +1,2 @@
+CREATE UNIQUE INDEX ux_credentials_username ON credentials (username);
+CREATE UNIQUE INDEX ux_credentials_user_id ON credentials (user_id);
@@ -0,0 +1 @@
+CREATE INDEX ix_address_user_id ON address (user_id);
@@ -0,0 +1,2 @@
+ALTER TABLE verification_tokens ADD COLUMN token_hash BINARY(32);
+CREATE INDEX ix_verification_tokens_token_hash ON verification_tokens (token_hash);
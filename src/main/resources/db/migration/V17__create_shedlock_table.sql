@@ -0,0 +1,6 @@
+CREATE TABLE shedlock (
+  name VARCHAR(64) NOT NULL PRIMARY KEY,
+  lock_until TIMESTAMP(3) NOT NULL,
+  locked_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  locked_by VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,136 @@
+package com.selimhorri.app.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.selimhorri.app.config.cache.CacheInvalidationProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.User;
+
+/**
+ * Two replicas wired to one in-memory broadcaster, each with its own caches.
+ */
+class CacheInvalidationListenerTest {
+
+    private final InMemoryCacheInvalidationBroadcaster broadcaster = new InMemoryCacheInvalidationBroadcaster();
+
+    private Replica writer;
+
+    private Replica reader;
+
+    private static final class Replica {
+
+        private final CacheManager cacheManager = new CaffeineCacheManager(
+                AppConstant.CacheName.USERS_BY_USERNAME,
+                AppConstant.CacheName.CREDENTIALS_BY_USERNAME);
+        private final Cache entityCache = mock(Cache.class);
+        private final org.hibernate.Cache hibernateCache = mock(org.hibernate.Cache.class);
+        private final UsernameCacheInvalidator invalidator;
+
+        private Replica(final String instanceId, final CacheInvalidationBroadcaster broadcaster) {
+            final CacheInvalidationProperties properties = new CacheInvalidationProperties();
+            properties.setInstanceId(instanceId);
+            final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+            final SessionFactory sessionFactory = mock(SessionFactory.class);
+            when(entityManagerFactory.getCache()).thenReturn(entityCache);
+            when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+            when(sessionFactory.getCache()).thenReturn(hibernateCache);
+
+            invalidator = new UsernameCacheInvalidator(cacheManager, broadcaster, properties);
+            new CacheInvalidationListener(broadcaster, invalidator, entityManagerFactory, properties).subscribe();
+        }
+
+        private void cache(final String username) {
+            cacheManager.getCache(AppConstant.CacheName.USERS_BY_USERNAME).put(username, username);
+            cacheManager.getCache(AppConstant.CacheName.CREDENTIALS_BY_USERNAME).put(username, username);
+        }
+
+        private boolean isCached(final String username) {
+            return cacheManager.getCache(AppConstant.CacheName.USERS_BY_USERNAME).get(username) != null
+                    || cacheManager.getCache(AppConstant.CacheName.CREDENTIALS_BY_USERNAME).get(username) != null;
+        }
+
+    }
+
+    @BeforeEach
+    void setUp() {
+        writer = new Replica("writer", broadcaster);
+        reader = new Replica("reader", broadcaster);
+        for (final Replica replica : List.of(writer, reader)) {
+            replica.cache("johndoe");
+            replica.cache("janedoe");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void invalidateCredential_shouldEvictOnlyWrittenEntriesOnOtherReplicas() {
+        writer.invalidator.invalidateCredential(3, "johndoe");
+
+        assertFalse(reader.isCached("johndoe"));
+        assertTrue(reader.isCached("janedoe"));
+        verify(reader.entityCache).evict(Credential.class, 3);
+        verify(reader.entityCache, never()).evict(eq(User.class), any());
+        verify(reader.hibernateCache).evictQueryRegion(AppConstant.CacheRegion.USERS_BY_USERNAME_QUERY);
+        verify(reader.hibernateCache).evictQueryRegion(AppConstant.CacheRegion.CREDENTIALS_BY_USERNAME_QUERY);
+    }
+
+    @Test
+    void invalidateUser_shouldLeaveWriterSecondLevelCacheToHibernate() {
+        writer.invalidator.invalidateUser(1, "janedoe");
+
+        assertFalse(writer.isCached("janedoe"));
+        verify(reader.entityCache).evict(User.class, 1);
+        verifyNoInteractions(writer.entityCache, writer.hibernateCache);
+    }
+
+    @Test
+    void invalidate_shouldReachOtherReplicasOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer.invalidator.invalidateCredential(3, "johndoe");
+
+        assertFalse(writer.isCached("johndoe"));
+        assertTrue(reader.isCached("johndoe"));
+
+        final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+
+        assertFalse(reader.isCached("johndoe"));
+    }
+
+    @Test
+    void invalidate_shouldNotReachOtherReplicasOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer.invalidator.invalidateCredential(3, "johndoe");
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertTrue(reader.isCached("johndoe"));
+        verifyNoInteractions(reader.entityCache);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.selimhorri.app.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.selimhorri.app.config.mapper.MapperConfig;
+
+class RedisCacheInvalidationBroadcasterTest {
+
+    private static final String CHANNEL = "user-service:cache-invalidation";
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    private final List<CacheInvalidationEvent> received = new ArrayList<>();
+
+    private RedisCacheInvalidationBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new RedisCacheInvalidationBroadcaster(redisTemplate, new MapperConfig().objectMapper(), CHANNEL);
+        broadcaster.subscribe(received::add);
+    }
+
+    @Test
+    void publish_shouldSendCompactEventThatSubscribersReadBack() {
+        final CacheInvalidationEvent event = CacheInvalidationEvent.builder()
+                .origin("replica-1")
+                .credentialId(3)
+                .usernames(new LinkedHashSet<>(List.of("johndoe", "johnny")))
+                .build();
+
+        broadcaster.publish(event);
+
+        final ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), payload.capture());
+        assertEquals("{\"o\":\"replica-1\",\"c\":3,\"n\":[\"johndoe\",\"johnny\"]}", payload.getValue());
+
+        broadcaster.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                payload.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        assertEquals(List.of(event), received);
+        assertEquals(Set.of("johndoe", "johnny"), received.get(0).getUsernames());
+    }
+
+    @Test
+    void publish_shouldSwallowTransportFailure() {
+        doThrow(new RedisConnectionFailureException("down")).when(redisTemplate).convertAndSend(eq(CHANNEL), anyString());
+
+        assertDoesNotThrow(() -> broadcaster.publish(CacheInvalidationEvent.builder().userId(1).build()));
+    }
+
+    @Test
+    void onMessage_shouldDropUnreadablePayload() {
+        broadcaster.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "not json".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertTrue(received.isEmpty());
+    }
+
+}
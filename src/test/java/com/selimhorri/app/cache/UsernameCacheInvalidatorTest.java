@@ -0,0 +1,130 @@
+package com.selimhorri.app.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.selimhorri.app.config.cache.CacheInvalidationConfig;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.repository.CredentialRepository;
+import com.selimhorri.app.repository.UserRepository;
+import com.selimhorri.app.security.PasswordHasher;
+import com.selimhorri.app.service.CredentialService;
+import com.selimhorri.app.service.UserService;
+import com.selimhorri.app.service.impl.CredentialServiceImpl;
+import com.selimhorri.app.service.impl.UserServiceImpl;
+
+@SpringJUnitConfig
+class UsernameCacheInvalidatorTest {
+
+    @Configuration
+    @EnableCaching
+    @Import({UserServiceImpl.class, CredentialServiceImpl.class, UsernameCacheInvalidator.class,
+            CacheInvalidationConfig.class})
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(
+                    AppConstant.CacheName.USERS_BY_USERNAME,
+                    AppConstant.CacheName.CREDENTIALS_BY_USERNAME);
+        }
+
+    }
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private CredentialRepository credentialRepository;
+
+    @MockBean
+    private EntityManager entityManager;
+
+    @MockBean
+    private PasswordHasher passwordHasher;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CredentialService credentialService;
+
+    @Autowired
+    private UsernameCacheInvalidator usernameCacheInvalidator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        final Credential credential = new Credential();
+        credential.setCredentialId(1);
+        credential.setUsername("johndoe");
+        user = new User();
+        user.setUserId(1);
+        user.setFirstName("John");
+        user.setCredential(credential);
+        credential.setUser(user);
+    }
+
+    @Test
+    void findByUsername_shouldHitRepositoryOnceUntilInvalidated() {
+        when(userRepository.findByCredentialUsername("johndoe")).thenReturn(Optional.of(user));
+        when(credentialRepository.findWithUserByUsername("johndoe")).thenReturn(Optional.of(user.getCredential()));
+
+        userService.findByUsername("johndoe");
+        credentialService.findByUsername("johndoe");
+        assertEquals(1, userService.findByUsername("johndoe").getUserId());
+        assertEquals(1, credentialService.findByUsername("johndoe").getCredentialId());
+        verify(userRepository, times(1)).findByCredentialUsername("johndoe");
+        verify(credentialRepository, times(1)).findWithUserByUsername("johndoe");
+
+        usernameCacheInvalidator.invalidateCredential(1, "johndoe");
+
+        userService.findByUsername("johndoe");
+        credentialService.findByUsername("johndoe");
+        verify(userRepository, times(2)).findByCredentialUsername("johndoe");
+        verify(credentialRepository, times(2)).findWithUserByUsername("johndoe");
+    }
+
+    @Test
+    void invalidate_shouldOnlyEvictGivenUsername() {
+        when(userRepository.findByCredentialUsername(anyString())).thenReturn(Optional.of(user));
+
+        userService.findByUsername("johndoe");
+        userService.findByUsername("janedoe");
+        usernameCacheInvalidator.invalidateUser(2, "janedoe", null);
+        userService.findByUsername("johndoe");
+        userService.findByUsername("janedoe");
+
+        verify(userRepository, times(1)).findByCredentialUsername("johndoe");
+        verify(userRepository, times(2)).findByCredentialUsername("janedoe");
+    }
+
+}
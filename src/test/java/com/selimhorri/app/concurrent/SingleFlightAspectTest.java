@@ -0,0 +1,118 @@
+package com.selimhorri.app.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SingleFlightAspectTest {
+
+    private static final int CALLERS = 8;
+
+    interface Lookup {
+        String find(String key);
+    }
+
+    static class BlockingLookup implements Lookup {
+
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        @SingleFlight
+        public String find(final String key) {
+            executions.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (key.equals("missing"))
+                throw new IllegalStateException("not found: " + key);
+            return "value-" + key;
+        }
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+    private BlockingLookup target;
+    private Lookup lookup;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = new BlockingLookup();
+        final AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new SingleFlightAspect(meterRegistry));
+        lookup = factory.getProxy();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private List<Future<String>> submitConcurrently(final String key) throws InterruptedException {
+        final List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++)
+            futures.add(executor.submit(() -> lookup.find(key)));
+        // give every caller the chance to join the in-flight call before releasing it
+        while (collapsed() < CALLERS - 1)
+            Thread.sleep(5);
+        target.release.countDown();
+        return futures;
+    }
+
+    private double collapsed() {
+        return meterRegistry.find(SingleFlightAspect.COLLAPSED_METRIC).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    @Test
+    void concurrentCallsForSameKey_shouldShareOneExecution() throws Exception {
+        for (final Future<String> future : submitConcurrently("selimhorri"))
+            assertEquals("value-selimhorri", future.get(5, TimeUnit.SECONDS));
+
+        assertEquals(1, target.executions.get());
+        assertEquals(CALLERS - 1, collapsed());
+    }
+
+    @Test
+    void concurrentCallsForSameKey_shouldShareFailure() throws Exception {
+        for (final Future<String> future : submitConcurrently("missing")) {
+            final Exception e = assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        assertEquals(1, target.executions.get());
+    }
+
+    @Test
+    void sequentialCalls_shouldNotBeCoalesced() {
+        target.release.countDown();
+
+        assertEquals("value-a", lookup.find("a"));
+        assertEquals("value-a", lookup.find("a"));
+        assertEquals("value-b", lookup.find("b"));
+
+        assertEquals(3, target.executions.get());
+        assertEquals(0, collapsed());
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.selimhorri.app.config.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.cache.CacheInvalidationBroadcaster;
+import com.selimhorri.app.cache.InMemoryCacheInvalidationBroadcaster;
+import com.selimhorri.app.cache.RedisCacheInvalidationBroadcaster;
+
+class CacheInvalidationConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(CacheInvalidationConfig.class)
+            .withBean(StringRedisTemplate.class, () -> mock(StringRedisTemplate.class))
+            .withBean(RedisConnectionFactory.class, CacheInvalidationConfigTest::connectionFactory)
+            .withBean(ObjectMapper.class, ObjectMapper::new);
+
+    /**
+     * Hands the listener container a connection whose subscribe returns at once.
+     */
+    private static RedisConnectionFactory connectionFactory() {
+        final RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        when(connectionFactory.getConnection()).thenReturn(mock(RedisConnection.class));
+        return connectionFactory;
+    }
+
+    private void assertBroadcaster(final ApplicationContextRunner runner,
+            final Class<? extends CacheInvalidationBroadcaster> expected) {
+        runner.run(context -> {
+            assertNull(context.getStartupFailure());
+            assertEquals(expected, context.getBean(CacheInvalidationBroadcaster.class).getClass());
+            assertEquals(expected == RedisCacheInvalidationBroadcaster.class ? 1 : 0,
+                    context.getBeanNamesForType(RedisMessageListenerContainer.class).length);
+        });
+    }
+
+    @Test
+    void transport_shouldDefaultToInMemory() {
+        assertBroadcaster(contextRunner, InMemoryCacheInvalidationBroadcaster.class);
+    }
+
+    @Test
+    void transport_shouldAcceptRelaxedInMemoryNames() {
+        for (final String transport : List.of("in-memory", "IN_MEMORY", "inMemory"))
+            assertBroadcaster(contextRunner.withPropertyValues("app.cache-invalidation.transport=" + transport),
+                    InMemoryCacheInvalidationBroadcaster.class);
+    }
+
+    @Test
+    void transport_shouldAcceptRelaxedRedisNames() {
+        for (final String transport : List.of("redis", "REDIS", "Redis"))
+            assertBroadcaster(contextRunner.withPropertyValues("app.cache-invalidation.transport=" + transport),
+                    RedisCacheInvalidationBroadcaster.class);
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.selimhorri.app.config.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.dto.AddressDto;
+import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.VerificationTokenDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+
+class MapperConfigTest {
+
+    private final ObjectMapper tuned = new MapperConfig().objectMapper();
+    private final ObjectMapper plain = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private UserDto user() {
+        return UserDto.builder()
+                .userId(1)
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@example.com")
+                .addressDtos(Set.of(AddressDto.builder().addressId(2).city("carthage").build()))
+                .credentialDto(CredentialDto.builder()
+                        .credentialId(3)
+                        .username("johndoe")
+                        .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                        .isEnabled(true)
+                        .verificationTokenDtos(Set.of(VerificationTokenDto.builder()
+                                .verificationTokenId(4)
+                                .token("token")
+                                .expireDate(LocalDate.of(2030, 1, 1))
+                                .build()))
+                        .build())
+                .version(5L)
+                .build();
+    }
+
+    @Test
+    void objectMapper_shouldWriteSameJsonAsPlainMapper() throws Exception {
+        final DtoCollectionResponse<UserDto> response = new DtoCollectionResponse<>(List.of(user()));
+
+        assertEquals(plain.writeValueAsString(response), tuned.writeValueAsString(response));
+    }
+
+    @Test
+    void objectMapper_shouldKeepFieldNameInterning() {
+        assertTrue(tuned.getFactory().isEnabled(JsonFactory.Feature.INTERN_FIELD_NAMES));
+    }
+
+    @Test
+    void objectMapper_shouldRoundTripDtos() throws Exception {
+        final String json = tuned.writeValueAsString(new DtoCollectionResponse<>(List.of(user())));
+
+        final DtoCollectionResponse<UserDto> read = tuned.readValue(json, new TypeReference<DtoCollectionResponse<UserDto>>() {});
+
+        final UserDto expected = user();
+        expected.setVersion(null); // travels in the ETag, never in the body
+        assertEquals(expected, read.getCollection().iterator().next());
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.selimhorri.app.job;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.helper.TokenHashHelper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs outside a test transaction: every chunk commits on its own, as in production.
+ */
+@DataJpaTest(properties = {
+    "app.token-purge.chunk-size=2",
+    "app.token-purge.pause-between-chunks=0ms"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ExpiredVerificationTokenPurgeJob.class)
+class ExpiredVerificationTokenPurgeJobTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2000, 1, 1);
+
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+    }
+
+    @Autowired
+    private ExpiredVerificationTokenPurgeJob job;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<String> inserted = new ArrayList<>();
+
+    private void insertToken(final String token, final LocalDate expireDate) {
+        jdbcTemplate.update("INSERT INTO verification_tokens (credential_id, token_hash, expire_date) VALUES (1, ?, ?)",
+                TokenHashHelper.hash(token), Date.valueOf(expireDate));
+        inserted.add(token);
+    }
+
+    private int count(final String tokenPrefix) {
+        return inserted.stream()
+                .filter(token -> token.startsWith(tokenPrefix))
+                .mapToInt(token -> jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM verification_tokens WHERE token_hash = ?", Integer.class, TokenHashHelper.hash(token)))
+                .sum();
+    }
+
+    @AfterEach
+    void tearDown() {
+        inserted.forEach(token -> jdbcTemplate.update("DELETE FROM verification_tokens WHERE token_hash = ?",
+                (Object) TokenHashHelper.hash(token)));
+    }
+
+    @Test
+    void purgeExpiredBefore_shouldDeleteOnlyExpiredTokensAcrossChunks() {
+        for (int i = 0; i < 5; i++)
+            insertToken("purge-expired-" + i, CUTOFF.minusDays(1 + i));
+        insertToken("purge-valid", CUTOFF);
+        final int seeded = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM verification_tokens", Integer.class);
+
+        final long purged = job.purgeExpiredBefore(CUTOFF);
+
+        assertEquals(5, purged);
+        assertEquals(0, count("purge-expired-"));
+        assertEquals(1, count("purge-valid"));
+        assertEquals(seeded - 5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM verification_tokens", Integer.class));
+        assertEquals(5, meterRegistry.get("verification_tokens.purged").counter().count());
+        assertEquals(1, meterRegistry.get("verification_tokens.purge").timer().count());
+    }
+
+    @Test
+    void purgeExpiredBefore_shouldDoNothingWithoutExpiredTokens() {
+        assertEquals(0, job.purgeExpiredBefore(CUTOFF));
+    }
+
+}
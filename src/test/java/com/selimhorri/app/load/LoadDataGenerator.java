@@ -0,0 +1,77 @@
+package com.selimhorri.app.load;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.selimhorri.app.helper.TokenHashHelper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk-inserts synthetic users, each with one credential, one address and one
+ * verification token. Ids are explicit, so workloads can address any row directly.
+ */
+@Slf4j
+class LoadDataGenerator {
+
+    static final String PASSWORD_HASH = "$2a$04$/S7cWjHPZul03sPEivycWeKTBvLyjYdaRWmeaFbiqKy9es/3W4QB6";
+    private static final int BATCH_SIZE = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    LoadDataGenerator(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return id of the first generated row; rows span {@code [firstId, firstId + count)} in every table
+     */
+    int seed(final int count) {
+        final int firstId = 1 + this.jdbcTemplate.queryForObject(
+                "SELECT GREATEST((SELECT COALESCE(MAX(user_id), 0) FROM users), "
+                        + "(SELECT COALESCE(MAX(credential_id), 0) FROM credentials), "
+                        + "(SELECT COALESCE(MAX(address_id), 0) FROM address), "
+                        + "(SELECT COALESCE(MAX(verification_token_id), 0) FROM verification_tokens))",
+                Integer.class);
+        final long start = System.nanoTime();
+        final Date expireDate = Date.valueOf(LocalDate.now().plusYears(1));
+
+        insert(firstId, count, "INSERT INTO users (user_id, first_name, last_name, email, phone) VALUES (?, ?, ?, ?, ?)",
+                id -> new Object[] { id, "First" + id, "Last" + id, "user" + id + "@load.test", "+216" + id });
+        insert(firstId, count, "INSERT INTO credentials (credential_id, user_id, username, password, role, is_enabled) "
+                + "VALUES (?, ?, ?, ?, 'ROLE_USER', TRUE)",
+                id -> new Object[] { id, id, username(id), PASSWORD_HASH });
+        insert(firstId, count, "INSERT INTO address (address_id, user_id, full_address, postal_code, city) VALUES (?, ?, ?, ?, ?)",
+                id -> new Object[] { id, id, id + " load street", String.valueOf(1000 + id % 9000), "city" + id % 100 });
+        insert(firstId, count, "INSERT INTO verification_tokens (verification_token_id, credential_id, token_hash, expire_date) "
+                + "VALUES (?, ?, ?, ?)",
+                id -> new Object[] { id, id, TokenHashHelper.hash("token-" + id), expireDate });
+
+        log.info("seeded {} users with credentials, addresses and tokens in {} ms",
+                count, (System.nanoTime() - start) / 1_000_000);
+        return firstId;
+    }
+
+    static String username(final int id) {
+        return "load" + id;
+    }
+
+    private void insert(final int firstId, final int count, final String sql, final IntFunction<Object[]> row) {
+        final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int id = firstId; id < firstId + count; id++) {
+            batch.add(row.apply(id));
+            if (batch.size() == BATCH_SIZE) {
+                this.jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty())
+            this.jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.selimhorri.app.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Closed-model driver: a fixed number of workers each pick a weighted operation,
+ * send it and wait for the response, recording latency per operation.
+ */
+class LoadDriver {
+
+    /**
+     * One kind of request; {@code request} builds it for a random row id.
+     */
+    static final class Operation {
+
+        final String name;
+        final int weight;
+        final IntFunction<HttpRequest.Builder> request;
+        final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        final LongAdder errors = new LongAdder();
+
+        Operation(final String name, final int weight, final IntFunction<HttpRequest.Builder> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final List<Operation> operations;
+    private final int totalWeight;
+    private final int firstId;
+    private final int rows;
+
+    LoadDriver(final List<Operation> operations, final int firstId, final int rows) {
+        this.operations = operations;
+        this.totalWeight = operations.stream().mapToInt(operation -> operation.weight).sum();
+        this.firstId = firstId;
+        this.rows = rows;
+    }
+
+    /**
+     * Runs the workload for {@code duration}; recordings start after {@code warmup}.
+     */
+    Map<String, Object> run(final int concurrency, final Duration warmup, final Duration duration) throws InterruptedException {
+        final long warmupEnd = System.nanoTime() + warmup.toNanos();
+        final long end = warmupEnd + duration.toNanos();
+        final ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < end)
+                    this.execute(this.pick(), System.nanoTime() >= warmupEnd);
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.plus(warmup).toSeconds() + 60, TimeUnit.SECONDS);
+        return this.report(duration);
+    }
+
+    private Operation pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(this.totalWeight);
+        for (final Operation operation : this.operations) {
+            ticket -= operation.weight;
+            if (ticket < 0)
+                return operation;
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private void execute(final Operation operation, final boolean record) {
+        final int id = this.firstId + ThreadLocalRandom.current().nextInt(this.rows);
+        final HttpRequest request = operation.request.apply(id).timeout(Duration.ofSeconds(30)).build();
+        final long start = System.nanoTime();
+        boolean failed;
+        try {
+            failed = this.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+        }
+        catch (Exception e) {
+            failed = true;
+        }
+        if (!record)
+            return;
+        operation.latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                operation.latencies.getHighestTrackableValue()));
+        if (failed)
+            operation.errors.increment();
+    }
+
+    private Map<String, Object> report(final Duration duration) {
+        final Map<String, Object> report = new LinkedHashMap<>();
+        final Histogram total = new Histogram(TimeUnit.MINUTES.toMicros(1), 3);
+        long errors = 0;
+        for (final Operation operation : this.operations) {
+            report.put(operation.name, summary(operation.latencies, operation.errors.sum(), duration));
+            total.add(operation.latencies);
+            errors += operation.errors.sum();
+        }
+        report.put("total", summary(total, errors, duration));
+        return report;
+    }
+
+    private static Map<String, Object> summary(final Histogram latencies, final long errors, final Duration duration) {
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", latencies.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughputPerSecond", latencies.getTotalCount() / (double) duration.toSeconds());
+        summary.put("p50Millis", latencies.getValueAtPercentile(50) / 1000.0);
+        summary.put("p90Millis", latencies.getValueAtPercentile(90) / 1000.0);
+        summary.put("p99Millis", latencies.getValueAtPercentile(99) / 1000.0);
+        summary.put("maxMillis", latencies.getMaxValue() / 1000.0);
+        return summary;
+    }
+
+}
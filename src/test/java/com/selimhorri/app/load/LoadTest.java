@@ -0,0 +1,125 @@
+package com.selimhorri.app.load;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * End-to-end load test on the dev (H2) profile, excluded from the regular build:
+ *
+ * <pre>
+ * mvn -Pload-test test [-Dload.users=1000000 -Dload.concurrency=32 -Dload.warmup=PT10S -Dload.duration=PT60S]
+ * </pre>
+ *
+ * Seeds {@code load.users} users (each with a credential, an address and a token), drives
+ * a weighted mix of reads and writes over HTTP and writes p50/p90/p99 latency and
+ * throughput per operation to {@code target/load-test/report.json}.
+ */
+@Tag("load")
+@Slf4j
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+    "spring.jpa.show-sql=false",
+    "eureka.client.enabled=false",
+    "logging.level.root=WARN",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.org.springframework=WARN",
+    "logging.level.com.selimhorri.app.load=INFO"
+})
+class LoadTest {
+
+    private static final String JSON = "application/json";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        final int users = Integer.getInteger("load.users", 1_000_000);
+        final int concurrency = Integer.getInteger("load.concurrency", 32);
+        final Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+        final Duration duration = Duration.parse(System.getProperty("load.duration", "PT60S"));
+
+        final int firstId = new LoadDataGenerator(jdbcTemplate).seed(users);
+        final LoadDriver driver = new LoadDriver(List.of(
+                new LoadDriver.Operation("GET /api/users/{id}", 30,
+                        id -> HttpRequest.newBuilder(uri("/api/users/" + id))),
+                new LoadDriver.Operation("GET /api/users?limit=50&after={id}", 10,
+                        id -> HttpRequest.newBuilder(uri("/api/users?limit=50&after=" + id))),
+                new LoadDriver.Operation("POST /api/users/batch", 5,
+                        id -> HttpRequest.newBuilder(uri("/api/users/batch"))
+                                .header("Content-Type", JSON)
+                                .POST(HttpRequest.BodyPublishers.ofString(batch(id, firstId, users)))),
+                new LoadDriver.Operation("PUT /api/users/{id}", 5,
+                        id -> HttpRequest.newBuilder(uri("/api/users/" + id))
+                                .header("Content-Type", JSON)
+                                .PUT(HttpRequest.BodyPublishers.ofString(String.format(
+                                        "{\"userId\":%d,\"firstName\":\"Renamed%d\",\"lastName\":\"Last%d\","
+                                        + "\"email\":\"user%d@load.test\",\"phone\":\"+216%d\"}", id, id, id, id, id)))),
+                new LoadDriver.Operation("GET /api/users/username/{username}", 15,
+                        id -> HttpRequest.newBuilder(uri("/api/users/username/" + LoadDataGenerator.username(id)))),
+                new LoadDriver.Operation("GET /api/credentials/username/{username}", 15,
+                        id -> HttpRequest.newBuilder(uri("/api/credentials/username/" + LoadDataGenerator.username(id)))),
+                new LoadDriver.Operation("GET /api/address/{id}", 10,
+                        id -> HttpRequest.newBuilder(uri("/api/address/" + id))),
+                new LoadDriver.Operation("GET /api/verificationTokens/{id}", 10,
+                        id -> HttpRequest.newBuilder(uri("/api/verificationTokens/" + id)))),
+                firstId, users);
+
+        final Map<String, Object> report = driver.run(concurrency, warmup, duration);
+        write(report, users, concurrency, duration);
+
+        @SuppressWarnings("unchecked")
+        final Map<String, Object> total = (Map<String, Object>) report.get("total");
+        assertTrue((long) total.get("requests") > 0);
+        assertTrue((long) total.get("errors") <= (long) total.get("requests") / 100,
+                () -> "more than 1% of requests failed: " + total);
+    }
+
+    private URI uri(final String path) {
+        return URI.create("http://localhost:" + port + "/user-service" + path);
+    }
+
+    private static String batch(final int id, final int firstId, final int users) {
+        final StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 50; i++)
+            body.append(i == 0 ? "" : ",").append(firstId + (id - firstId + i * 997) % users);
+        return body.append(']').toString();
+    }
+
+    private void write(final Map<String, Object> report, final int users, final int concurrency, final Duration duration) throws IOException {
+        final File file = new File("target/load-test/report.json");
+        file.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, Map.of(
+                "users", users,
+                "concurrency", concurrency,
+                "durationSeconds", duration.toSeconds(),
+                "operations", report));
+        report.forEach((operation, summary) -> log.info("{}: {}", operation, summary));
+        log.info("load test report written to {}", file.getAbsolutePath());
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.selimhorri.app.monitoring;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.selimhorri.app.config.metrics.RequestMonitoringConfig;
+import com.selimhorri.app.repository.AddressRepository;
+import com.selimhorri.app.repository.UserRepository;
+
+@DataJpaTest
+@Import(RequestMonitoringConfig.class)
+class RequestProfileSessionListenerTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        RequestProfile.clear();
+    }
+
+    @Test
+    void sessionListener_shouldCountStatementsOfCurrentRequestOnly() {
+        userRepository.findById(1).orElseThrow();
+        entityManager.clear();
+
+        final RequestProfile profile = RequestProfile.start();
+        userRepository.findById(2).orElseThrow();
+        addressRepository.findAllViews();
+
+        assertEquals(2, profile.getSqlCount());
+        assertTrue(profile.getDbNanos() > 0);
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.selimhorri.app.monitoring;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.config.metrics.RequestMonitoringProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RouteSloMeterFilterTest {
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        final RequestMonitoringProperties.Slo slo = new RequestMonitoringProperties.Slo();
+        slo.setBuckets(List.of(Duration.ofMillis(100), Duration.ofMillis(500)));
+        slo.setRoutes(Map.of("/api/users/username/{username}", List.of(Duration.ofMillis(10))));
+        meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(new RouteSloMeterFilter(slo));
+    }
+
+    private double[] bucketsMillis(final String metric, final String uri) {
+        final Timer timer = Timer.builder(metric).tag("uri", uri).register(meterRegistry);
+        timer.record(50, TimeUnit.MILLISECONDS);
+        return Arrays.stream(timer.takeSnapshot().histogramCounts())
+                .mapToDouble(bucket -> bucket.bucket(TimeUnit.MILLISECONDS))
+                .toArray();
+    }
+
+    @Test
+    void configure_shouldApplyDefaultBucketsToApiRoutes() {
+        assertArrayEquals(new double[] {100, 500}, bucketsMillis("http.server.requests", "/api/users/{userId}"));
+        assertArrayEquals(new double[] {100, 500}, bucketsMillis("http.server.requests", "/api/verificationTokens"));
+    }
+
+    @Test
+    void configure_shouldPreferPerRouteBuckets() {
+        final Timer timer = Timer.builder("http.server.requests")
+                .tag("uri", "/api/users/username/{username}")
+                .register(meterRegistry);
+        timer.record(5, TimeUnit.MILLISECONDS);
+        timer.record(50, TimeUnit.MILLISECONDS);
+
+        final CountAtBucket[] buckets = timer.takeSnapshot().histogramCounts();
+        assertEquals(1, buckets.length);
+        assertEquals(10, buckets[0].bucket(TimeUnit.MILLISECONDS));
+        assertEquals(1, buckets[0].count());
+    }
+
+    @Test
+    void configure_shouldLeaveOtherMetersAlone() {
+        assertEquals(0, bucketsMillis("http.server.requests", "/actuator/prometheus").length);
+        assertEquals(0, bucketsMillis("http.client.requests", "/api/users/{userId}").length);
+    }
+
+}
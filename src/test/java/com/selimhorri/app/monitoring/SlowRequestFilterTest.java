@@ -0,0 +1,178 @@
+package com.selimhorri.app.monitoring;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+class SlowRequestFilterTest {
+
+    private final SlowRequestSampler sampler = new SlowRequestSampler(10);
+
+    /**
+     * Runs two statements through a session listener, as a repository call would.
+     */
+    @RestController
+    @RequestMapping("/api/users")
+    static class ProbeResource {
+
+        static void runStatements() {
+            final RequestProfileSessionListener listener = new RequestProfileSessionListener();
+            for (int i = 0; i < 2; i++) {
+                listener.jdbcExecuteStatementStart();
+                try {
+                    Thread.sleep(5);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                listener.jdbcExecuteStatementEnd();
+            }
+        }
+
+        @GetMapping("/{userId}")
+        Map<String, Integer> findById(@PathVariable final Integer userId) {
+            runStatements();
+            return Map.of("userId", userId);
+        }
+
+        @GetMapping("/export")
+        StreamingResponseBody exportAll() {
+            return outputStream -> {
+                runStatements();
+                outputStream.write("{}\n".getBytes(StandardCharsets.UTF_8));
+            };
+        }
+
+        @GetMapping("/deferred/{userId}")
+        DeferredResult<Map<String, Integer>> findLater(@PathVariable final Integer userId) {
+            final DeferredResult<Map<String, Integer>> result = new DeferredResult<>();
+            CompletableFuture.runAsync(() -> result.setResult(Map.of("userId", userId)),
+                    CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS));
+            return result;
+        }
+
+    }
+
+    private MockMvc mockMvc(final Duration threshold) {
+        return MockMvcBuilders.standaloneSetup(new ProbeResource())
+                .setControllerAdvice(new SerializationTimingAdvice())
+                .addFilters(new SlowRequestFilter(sampler, threshold))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void doFilter_shouldSampleRequestOverThreshold() throws Exception {
+        MDC.put("traceId", "5f1c2a9d8e7b6a54");
+
+        mockMvc(Duration.ZERO).perform(get("/api/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(1));
+
+        final List<SlowRequestSample> samples = sampler.snapshot();
+        assertEquals(1, samples.size());
+        final SlowRequestSample sample = samples.get(0);
+        assertEquals("GET", sample.getMethod());
+        assertEquals("/api/users/{userId}", sample.getRoute());
+        assertEquals(200, sample.getStatus());
+        assertEquals(2, sample.getSqlCount());
+        assertTrue(sample.getDbTimeMs() >= 10);
+        assertTrue(sample.getDurationMs() >= sample.getDbTimeMs() + sample.getSerializationTimeMs());
+        assertTrue(sample.getSerializationTimeMs() > 0);
+        assertEquals("5f1c2a9d8e7b6a54", sample.getTraceId());
+        assertNull(RequestProfile.current());
+    }
+
+    @Test
+    void doFilter_shouldSkipRequestUnderThreshold() throws Exception {
+        mockMvc(Duration.ofHours(1)).perform(get("/api/users/1"))
+                .andExpect(status().isOk());
+
+        assertTrue(sampler.snapshot().isEmpty());
+        assertNull(RequestProfile.current());
+    }
+
+    @Test
+    void doFilter_shouldSampleStreamingResponseOnCompletion() throws Exception {
+        MDC.put("traceId", "7a3e9c1b2d4f6e80");
+        final MockMvc mockMvc = mockMvc(Duration.ZERO);
+
+        final MvcResult started = mockMvc.perform(get("/api/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult();
+        MDC.clear();
+        assertTrue(sampler.snapshot().isEmpty());
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk());
+
+        final List<SlowRequestSample> samples = sampler.snapshot();
+        assertEquals(1, samples.size());
+        final SlowRequestSample sample = samples.get(0);
+        assertEquals("/api/users/export", sample.getRoute());
+        assertEquals(200, sample.getStatus());
+        // counted on the MVC task executor thread that wrote the body
+        assertEquals(2, sample.getSqlCount());
+        assertTrue(sample.getDbTimeMs() >= 10);
+        assertEquals("7a3e9c1b2d4f6e80", sample.getTraceId());
+        assertNull(RequestProfile.current());
+    }
+
+    @Test
+    void doFilter_shouldTimeDeferredResultUntilCompletion() throws Exception {
+        final MockMvc mockMvc = mockMvc(Duration.ofMillis(15));
+
+        final MvcResult started = mockMvc.perform(get("/api/users/deferred/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(1));
+
+        final List<SlowRequestSample> samples = sampler.snapshot();
+        assertEquals(1, samples.size());
+        assertEquals("/api/users/deferred/{userId}", samples.get(0).getRoute());
+        assertTrue(samples.get(0).getDurationMs() >= 20);
+        assertTrue(samples.get(0).getSerializationTimeMs() > 0);
+    }
+
+    @Test
+    void snapshot_shouldKeepLatestSamplesNewestFirst() {
+        final SlowRequestSampler ring = new SlowRequestSampler(3);
+        for (int status = 1; status <= 5; status++)
+            ring.record(SlowRequestSample.builder().status(status).build());
+
+        assertEquals(List.of(5, 4, 3), ring.snapshot().stream()
+                .map(SlowRequestSample::getStatus)
+                .collect(Collectors.toList()));
+        assertEquals(5, ring.getRecorded());
+    }
+
+}
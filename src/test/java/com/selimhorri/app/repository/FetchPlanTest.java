@@ -0,0 +1,132 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.function.Supplier;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.selimhorri.app.domain.Address;
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.domain.VerificationToken;
+import com.selimhorri.app.helper.AddressMappingHelper;
+import com.selimhorri.app.helper.CredentialMappingHelper;
+import com.selimhorri.app.helper.UserMappingHelper;
+import com.selimhorri.app.helper.VerificationTokenMappingHelper;
+
+/**
+ * Every association is lazy, so a plain lookup reads a single row and each write path's
+ * entity graph covers exactly what its response mapper reads, in one statement.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class FetchPlanTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CredentialRepository credentialRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private VerificationTokenRepository verificationTokenRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private <T> T assertSingleStatement(final Supplier<T> call) {
+        entityManager.clear();
+        statistics.clear();
+
+        final T result = call.get();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        return result;
+    }
+
+    @Test
+    void findById_shouldLoadNoAssociation() {
+        final User user = assertSingleStatement(() -> userRepository.findById(1).orElseThrow());
+        assertFalse(Hibernate.isPropertyInitialized(user, "credential"));
+
+        final Credential credential = assertSingleStatement(() -> credentialRepository.findById(1).orElseThrow());
+        assertFalse(Hibernate.isInitialized(credential.getUser()));
+        assertFalse(Hibernate.isInitialized(credential.getVerificationTokens()));
+
+        final Address address = assertSingleStatement(() -> addressRepository.findById(1).orElseThrow());
+        assertFalse(Hibernate.isInitialized(address.getUser()));
+
+        final VerificationToken token = assertSingleStatement(() -> verificationTokenRepository.findById(1).orElseThrow());
+        assertFalse(Hibernate.isInitialized(token.getCredential()));
+    }
+
+    @Test
+    void findWithCredentialByUserId_shouldLoadCredentialOnly() {
+        final User user = assertSingleStatement(() -> {
+            final User found = userRepository.findWithCredentialByUserId(1).orElseThrow();
+            assertNotNull(UserMappingHelper.map(found).getCredentialDto());
+            return found;
+        });
+
+        assertFalse(Hibernate.isInitialized(user.getAddresses()));
+        assertFalse(Hibernate.isInitialized(user.getCredential().getVerificationTokens()));
+    }
+
+    @Test
+    void findWithUserByCredentialId_shouldLoadUserButNotTokens() {
+        final Credential credential = assertSingleStatement(() -> {
+            final Credential found = credentialRepository.findWithUserByCredentialId(1).orElseThrow();
+            assertNotNull(CredentialMappingHelper.map(found).getUserDto().getFirstName());
+            return found;
+        });
+
+        assertFalse(Hibernate.isInitialized(credential.getVerificationTokens()));
+    }
+
+    @Test
+    void findWithUserByAddressId_shouldLoadUserButNotItsCredential() {
+        final Address address = assertSingleStatement(() -> {
+            final Address found = addressRepository.findWithUserByAddressId(1).orElseThrow();
+            assertNotNull(AddressMappingHelper.map(found).getUserDto().getFirstName());
+            return found;
+        });
+
+        assertFalse(Hibernate.isPropertyInitialized(address.getUser(), "credential"));
+    }
+
+    @Test
+    void findWithCredentialByVerificationTokenId_shouldLoadCredentialButNotItsUser() {
+        final VerificationToken token = assertSingleStatement(() -> {
+            final VerificationToken found = verificationTokenRepository.findWithCredentialByVerificationTokenId(1)
+                    .orElseThrow();
+            assertNotNull(VerificationTokenMappingHelper.map(found).getCredentialDto().getUsername());
+            return found;
+        });
+
+        assertFalse(Hibernate.isInitialized(token.getCredential().getUser()));
+        assertFalse(Hibernate.isInitialized(token.getCredential().getVerificationTokens()));
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import com.selimhorri.app.domain.Address;
+import com.selimhorri.app.domain.Credential;
+
+@DataJpaTest
+class OptimisticLockingTest {
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CredentialRepository credentialRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void saveAndFlush_shouldBumpVersionSeenByViews() {
+        final Address address = addressRepository.findById(1).orElseThrow();
+        final long version = address.getVersion();
+        address.setCity("tunis");
+
+        addressRepository.saveAndFlush(address);
+
+        assertEquals(version + 1, address.getVersion());
+        assertEquals(version + 1, addressRepository.findViewById(1).orElseThrow().getVersion());
+        assertEquals(userRepository.findById(1).orElseThrow().getVersion(), 
+                addressRepository.findViewById(1).orElseThrow().getUserVersion());
+    }
+
+    @Test
+    void saveAndFlush_shouldRejectStaleCopy() {
+        final Address stale = addressRepository.findById(2).orElseThrow();
+        entityManager.detach(stale);
+        final Address current = addressRepository.findById(2).orElseThrow();
+        current.setCity("tunis");
+        addressRepository.saveAndFlush(current);
+
+        stale.setCity("sousse");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> addressRepository.saveAndFlush(stale));
+    }
+
+    @Test
+    void updatePassword_shouldBumpVersion() {
+        final Credential credential = credentialRepository.findById(1).orElseThrow();
+        final long version = credential.getVersion();
+        entityManager.clear();
+
+        assertEquals(1, credentialRepository.updatePassword(1, credential.getPassword(), "rehashed"));
+
+        assertEquals(version + 1, credentialRepository.findViewById(1).orElseThrow().getVersion());
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.selimhorri.app.helper.TokenHashHelper;
+import com.selimhorri.app.repository.projection.UserView;
+
+/**
+ * Index advisor: runs every query declared on the repositories against the Flyway
+ * schema, EXPLAINs each statement Hibernate issued and fails on full scans.
+ * Only whole-table listings may scan, and only their driving table.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.selimhorri.app.repository.RecordingStatementInspector")
+class QueryPlanAdvisorTest {
+
+    /**
+     * An H2 plan annotates every table access with the index it uses and, when the
+     * index is searched, the condition after a colon: no colon means a full scan.
+     */
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/\\* ([^:*\\n]+?) \\*/");
+
+    private static final Set<String> FULL_LISTINGS = Set.of(
+            "UserRepository.findAllViews",
+            "UserRepository.streamAllViews",
+            "CredentialRepository.findAllViews",
+            "AddressRepository.findAllViews",
+            "VerificationTokenRepository.findAllViews");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CredentialRepository credentialRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private VerificationTokenRepository verificationTokenRepository;
+
+    private final Map<String, Runnable> probes = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        probes.put("UserRepository.findByCredentialUsername", () -> userRepository.findByCredentialUsername("selimhorri"));
+        probes.put("UserRepository.findAllViews", () -> userRepository.findAllViews());
+        probes.put("UserRepository.findWithCredentialByUserId", () -> userRepository.findWithCredentialByUserId(1));
+        probes.put("UserRepository.findViewsByIdIn", () -> userRepository.findViewsByIdIn(List.of(1, 2, 3)));
+        probes.put("UserRepository.findPageViewsAfter", () -> userRepository.findPageViewsAfter(1, PageRequest.of(0, 2)));
+        probes.put("UserRepository.streamAllViews", () -> {
+            try (Stream<UserView> users = userRepository.streamAllViews()) {
+                users.forEach(user -> { });
+            }
+        });
+        probes.put("CredentialRepository.existsByUsername", () -> credentialRepository.existsByUsername("selimhorri"));
+        probes.put("CredentialRepository.findAllViews", () -> credentialRepository.findAllViews());
+        probes.put("CredentialRepository.findViewById", () -> credentialRepository.findViewById(1));
+        probes.put("CredentialRepository.findWithUserByCredentialId", () -> credentialRepository.findWithUserByCredentialId(1));
+        probes.put("CredentialRepository.findPageViewsAfter", () -> credentialRepository.findPageViewsAfter(1, PageRequest.of(0, 2)));
+        probes.put("CredentialRepository.findWithUserByUsername", () -> credentialRepository.findWithUserByUsername("selimhorri"));
+        probes.put("CredentialRepository.findSecretByUsername", () -> credentialRepository.findSecretByUsername("selimhorri"));
+        probes.put("CredentialRepository.existsByUserUserId", () -> credentialRepository.existsByUserUserId(1));
+        probes.put("CredentialRepository.updatePassword", () -> credentialRepository.updatePassword(1, "previous", "next"));
+        probes.put("CredentialRepository.deleteByCredentialId", () -> credentialRepository.deleteByCredentialId(4));
+        probes.put("AddressRepository.findAllViews", () -> addressRepository.findAllViews());
+        probes.put("AddressRepository.findViewById", () -> addressRepository.findViewById(1));
+        probes.put("AddressRepository.findWithUserByAddressId", () -> addressRepository.findWithUserByAddressId(1));
+        probes.put("AddressRepository.findPageViewsAfter", () -> addressRepository.findPageViewsAfter(1, PageRequest.of(0, 2)));
+        probes.put("VerificationTokenRepository.findAllViews", () -> verificationTokenRepository.findAllViews());
+        probes.put("VerificationTokenRepository.findViewById", () -> verificationTokenRepository.findViewById(1));
+        probes.put("VerificationTokenRepository.findWithCredentialByVerificationTokenId",
+                () -> verificationTokenRepository.findWithCredentialByVerificationTokenId(1));
+        probes.put("VerificationTokenRepository.findPageViewsAfter", () -> verificationTokenRepository.findPageViewsAfter(1, PageRequest.of(0, 2)));
+        probes.put("VerificationTokenRepository.findViewsByTokenHash",
+                () -> verificationTokenRepository.findViewsByTokenHash(TokenHashHelper.hash("token")));
+        probes.put("VerificationTokenRepository.findExpiredIdsAfter",
+                () -> verificationTokenRepository.findExpiredIdsAfter(0, LocalDate.now(), PageRequest.of(0, 2)));
+        probes.put("VerificationTokenRepository.deleteAllByIdIn", () -> verificationTokenRepository.deleteAllByIdIn(List.of(3, 4)));
+        probes.put("VerificationTokenRepository.deleteByIdCustom", () -> verificationTokenRepository.deleteByIdCustom(4));
+    }
+
+    @Test
+    void everyDeclaredQuery_shouldBeProbed() {
+        final List<String> unprobed = Stream.of(UserRepository.class, CredentialRepository.class,
+                        AddressRepository.class, VerificationTokenRepository.class)
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> !method.isSynthetic())
+                        .map(Method::getName)
+                        .map(method -> repository.getSimpleName() + "." + method))
+                .filter(method -> !probes.containsKey(method))
+                .collect(Collectors.toList());
+
+        assertTrue(unprobed.isEmpty(), () -> "add a probe to the index advisor for " + unprobed);
+    }
+
+    @Test
+    void repositoryQueries_shouldNotScanFullTables() {
+        final List<String> violations = new ArrayList<>();
+        probes.forEach((query, probe) -> {
+            entityManager.clear();
+            RecordingStatementInspector.clear();
+            probe.run();
+            entityManager.flush();
+            for (final String sql : RecordingStatementInspector.statements()) {
+                final List<String> scans = fullScans(explain(sql));
+                if (FULL_LISTINGS.contains(query) && !scans.isEmpty())
+                    scans.remove(0);
+                if (!scans.isEmpty())
+                    violations.add(query + " scans " + scans + " in:\n" + explain(sql));
+            }
+        });
+
+        assertTrue(violations.isEmpty(), () -> "missing indexes:\n" + String.join("\n", violations));
+    }
+
+    @Test
+    void listingQueries_shouldNotReadPasswordHashes() {
+        final List<String> violations = new ArrayList<>();
+        FULL_LISTINGS.forEach(query -> {
+            entityManager.clear();
+            RecordingStatementInspector.clear();
+            probes.get(query).run();
+            RecordingStatementInspector.statements().stream()
+                    .filter(sql -> sql.toLowerCase().contains("password"))
+                    .forEach(sql -> violations.add(query + " reads the hash in:\n" + sql));
+        });
+
+        assertTrue(violations.isEmpty(), () -> String.join("\n", violations));
+    }
+
+    private String explain(final String sql) {
+        final Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters).get(0);
+    }
+
+    private static List<String> fullScans(final String plan) {
+        final List<String> scans = new ArrayList<>();
+        final Matcher matcher = TABLE_ACCESS.matcher(plan);
+        while (matcher.find())
+            if (!matcher.group(1).equals("index sorted"))
+                scans.add(matcher.group(1));
+        return scans;
+    }
+
+}
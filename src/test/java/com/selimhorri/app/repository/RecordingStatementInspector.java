@@ -0,0 +1,31 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Keeps every SQL string Hibernate prepares, for tests that need to look at the statements themselves.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(final String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.data.RepositoryMetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.jdbc.DataSourcePoolMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Runs on the configured Hikari pool rather than the embedded test database, so both
+ * the repository timers and the pool meters they are read against are present.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration({
+    MetricsAutoConfiguration.class,
+    CompositeMeterRegistryAutoConfiguration.class,
+    SimpleMetricsExportAutoConfiguration.class,
+    RepositoryMetricsAutoConfiguration.class,
+    DataSourcePoolMetricsAutoConfiguration.class
+})
+class RepositoryMetricsTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CredentialRepository credentialRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer repositoryTimer(final String repository, final String method) {
+        return meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", repository)
+                .tag("method", method)
+                .timer();
+    }
+
+    @Test
+    void repositoryInvocation_shouldRecordPercentilesByRepositoryAndMethod() {
+        userRepository.findByCredentialUsername("selimhorri");
+        userRepository.findByCredentialUsername("unknown");
+        credentialRepository.existsByUsername("selimhorri");
+
+        final Timer findByUsername = repositoryTimer("UserRepository", "findByCredentialUsername");
+        assertEquals(2, findByUsername.count());
+        assertEquals(1, repositoryTimer("CredentialRepository", "existsByUsername").count());
+
+        final double[] percentiles = Arrays.stream(findByUsername.takeSnapshot().percentileValues())
+                .mapToDouble(ValueAtPercentile::percentile)
+                .toArray();
+        assertArrayEquals(new double[] {0.5, 0.95, 0.99}, percentiles);
+    }
+
+    private long acquireCount() {
+        return meterRegistry.get("hikaricp.connections.acquire").tag("pool", "user-service-pool").timer().count();
+    }
+
+    @Test
+    void repositoryInvocation_shouldNotAcquireInsideOpenTransaction() {
+        final long before = acquireCount();
+
+        userRepository.findByCredentialUsername("selimhorri");
+        credentialRepository.existsByUsername("selimhorri");
+
+        // the test transaction checked the connection out before the timer started
+        assertEquals(before, acquireCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void repositoryInvocation_shouldIncludeAcquireWhenStandalone() {
+        final long before = acquireCount();
+
+        userRepository.findByCredentialUsername("selimhorri");
+        credentialRepository.existsByUsername("selimhorri");
+
+        // each call opens its own transaction, and so checks out a connection, inside the timer
+        assertEquals(before + 2, acquireCount());
+    }
+
+    @Test
+    void connectionPool_shouldRecordAcquireTimeTaggedWithPoolName() {
+        userRepository.findByCredentialUsername("selimhorri");
+
+        final Timer acquire = meterRegistry.get("hikaricp.connections.acquire")
+                .tag("pool", "user-service-pool")
+                .timer();
+        assertTrue(acquire.count() > 0);
+        assertEquals(3, acquire.takeSnapshot().percentileValues().length);
+        assertNotNull(meterRegistry.get("hikaricp.connections.pending").tag("pool", "user-service-pool").gauge());
+    }
+
+}
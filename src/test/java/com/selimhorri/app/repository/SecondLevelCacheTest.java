@@ -0,0 +1,168 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.config.cache.SecondLevelCacheConfig;
+import com.selimhorri.app.config.cache.SecondLevelCacheEndpoint;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.domain.User;
+
+/**
+ * Runs outside a test transaction: a read-write region only serves entries to transactions
+ * that started after the entry was put, so every call below commits on its own.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SecondLevelCacheConfig.class)
+class SecondLevelCacheTest {
+
+    private static final String PROBE_USERNAME = "l2-cache-probe";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CredentialRepository credentialRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SecondLevelCacheEndpoint endpoint;
+
+    private Statistics statistics;
+
+    private String seededPassword;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        seededPassword = jdbcTemplate.queryForObject("SELECT password FROM credentials WHERE credential_id = 1",
+                String.class);
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("UPDATE credentials SET password = ? WHERE credential_id = 1", seededPassword);
+        jdbcTemplate.update("DELETE FROM credentials WHERE username = ?", PROBE_USERNAME);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", PROBE_USERNAME + "@example.com");
+    }
+
+    @Test
+    void findById_shouldBeServedFromRegionOnceLoaded() {
+        userRepository.findById(1).orElseThrow();
+        credentialRepository.findById(1).orElseThrow();
+        addressRepository.findById(1).orElseThrow();
+        statistics.clear();
+
+        userRepository.findById(1).orElseThrow();
+        credentialRepository.findById(1).orElseThrow();
+        addressRepository.findById(1).orElseThrow();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getCacheRegionStatistics(AppConstant.CacheRegion.USERS).getHitCount());
+        assertEquals(1, statistics.getCacheRegionStatistics(AppConstant.CacheRegion.CREDENTIALS).getHitCount());
+        assertEquals(1, statistics.getCacheRegionStatistics(AppConstant.CacheRegion.ADDRESSES).getHitCount());
+    }
+
+    @Test
+    void findByCredentialUsername_shouldBeServedFromQueryCache() {
+        final String username = credentialRepository.findById(1).orElseThrow().getUsername();
+        userRepository.findByCredentialUsername(username).orElseThrow();
+        statistics.clear();
+
+        final String cachedUsername = new TransactionTemplate(transactionManager).execute(status ->
+                userRepository.findByCredentialUsername(username).orElseThrow().getCredential().getUsername());
+
+        assertEquals(username, cachedUsername);
+        assertEquals(1, statistics.getCacheRegionStatistics(AppConstant.CacheRegion.USERS_BY_USERNAME_QUERY)
+                .getHitCount());
+        assertEquals(0, statistics.getQueryExecutionCount());
+        // the user comes from its region; the credential is the inverse side, looked up by user_id not by id
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updatePassword_shouldEvictStaleCredential() {
+        credentialRepository.findById(1).orElseThrow();
+
+        final int updated = new TransactionTemplate(transactionManager).execute(status ->
+                credentialRepository.updatePassword(1, seededPassword, "rehashed"));
+
+        assertEquals(1, updated);
+        assertEquals("rehashed", credentialRepository.findById(1).orElseThrow().getPassword());
+    }
+
+    @Test
+    void deleteByCredentialId_shouldEvictDeletedCredential() {
+        final User user = userRepository.save(User.builder()
+                .firstName("cache")
+                .lastName("probe")
+                .email(PROBE_USERNAME + "@example.com")
+                .build());
+        final Integer credentialId = credentialRepository.save(Credential.builder()
+                .username(PROBE_USERNAME)
+                .password("secret")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                .isEnabled(true)
+                .isAccountNonExpired(true)
+                .isAccountNonLocked(true)
+                .isCredentialsNonExpired(true)
+                .user(user)
+                .build()).getCredentialId();
+        credentialRepository.findById(credentialId).orElseThrow();
+        userRepository.findByCredentialUsername(PROBE_USERNAME).orElseThrow();
+
+        credentialRepository.deleteByCredentialId(credentialId);
+
+        assertTrue(credentialRepository.findById(credentialId).isEmpty());
+        assertTrue(userRepository.findByCredentialUsername(PROBE_USERNAME).isEmpty());
+    }
+
+    @Test
+    void endpoint_shouldReportHitRatioPerRegion() {
+        userRepository.findById(1).orElseThrow();
+        userRepository.findById(1).orElseThrow();
+
+        final Map<String, SecondLevelCacheEndpoint.RegionReport> regions = endpoint.regions();
+
+        final SecondLevelCacheEndpoint.RegionReport users = regions.get(AppConstant.CacheRegion.USERS);
+        assertEquals(1, users.getHits());
+        assertEquals(1, users.getMisses());
+        assertEquals(0.5d, users.getHitRatio());
+        assertEquals(10_000, users.getMaxSize());
+        assertTrue(regions.containsKey(AppConstant.CacheRegion.USERS_BY_USERNAME_QUERY));
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.selimhorri.app.domain.VerificationToken;
+import com.selimhorri.app.helper.TokenHashHelper;
+import com.selimhorri.app.repository.projection.VerificationTokenView;
+
+@DataJpaTest
+class VerificationTokenRepositoryTest {
+
+    @Autowired
+    private VerificationTokenRepository verificationTokenRepository;
+
+    @Autowired
+    private CredentialRepository credentialRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migration_shouldBackfillTokenHashOfSeededTokens() {
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM verification_tokens WHERE token_hash IS NULL", Integer.class));
+    }
+
+    @Test
+    void migration_shouldDropPlaintextTokenColumn() {
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE UPPER(TABLE_NAME) = 'VERIFICATION_TOKENS' AND UPPER(COLUMN_NAME) = 'VERIF_TOKEN'", Integer.class));
+    }
+
+    @Test
+    void findViewsByTokenHash_shouldFindTokenHashedOnWrite() {
+        final VerificationToken saved = verificationTokenRepository.save(VerificationToken.builder()
+                .token("confirm-me")
+                .expireDate(LocalDate.now().plusDays(1))
+                .credential(credentialRepository.getById(1))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        final List<VerificationTokenView> found = verificationTokenRepository.findViewsByTokenHash(TokenHashHelper.hash("confirm-me"));
+
+        assertEquals(1, found.size());
+        assertEquals(saved.getVerificationTokenId(), found.get(0).getVerificationTokenId());
+        assertEquals(1, found.get(0).getCredentialId());
+    }
+
+    @Test
+    void save_shouldStoreOnlyTheTokenHash() {
+        final VerificationToken saved = verificationTokenRepository.save(VerificationToken.builder()
+                .token("hash-only")
+                .expireDate(LocalDate.now().plusDays(1))
+                .credential(credentialRepository.getById(1))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        final VerificationToken reloaded = verificationTokenRepository.findById(saved.getVerificationTokenId()).orElseThrow();
+
+        assertNull(reloaded.getToken());
+        assertArrayEquals(TokenHashHelper.hash("hash-only"), reloaded.getTokenHash());
+    }
+
+    @Test
+    void findViewsByTokenHash_shouldFollowTokenChanges() {
+        final VerificationToken token = verificationTokenRepository.findById(1).orElseThrow();
+        token.setToken("renewed");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, verificationTokenRepository.findViewsByTokenHash(TokenHashHelper.hash("renewed")).size());
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.selimhorri.app.repository.projection;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import com.selimhorri.app.domain.Address;
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.domain.VerificationToken;
+
+/**
+ * Builds the same projection proxies Spring Data returns, backed by test entities.
+ */
+public final class ProjectionFixtures {
+
+    private static final ProjectionFactory FACTORY = new SpelAwareProxyProjectionFactory();
+
+    private ProjectionFixtures() {
+    }
+
+    public static UserView userView(final User user) {
+        final Map<String, Object> values = new HashMap<>();
+        putUser(values, user);
+        putCredential(values, user.getCredential());
+        return FACTORY.createProjection(UserView.class, values);
+    }
+
+    public static CredentialView credentialView(final Credential credential) {
+        final Map<String, Object> values = new HashMap<>();
+        putCredential(values, credential);
+        putUser(values, credential.getUser());
+        return FACTORY.createProjection(CredentialView.class, values);
+    }
+
+    public static CredentialSecretView credentialSecretView(final Credential credential) {
+        final Map<String, Object> values = new HashMap<>();
+        values.put("credentialId", credential.getCredentialId());
+        values.put("password", credential.getPassword());
+        return FACTORY.createProjection(CredentialSecretView.class, values);
+    }
+
+    public static AddressView addressView(final Address address) {
+        final Map<String, Object> values = new HashMap<>();
+        values.put("addressId", address.getAddressId());
+        values.put("fullAddress", address.getFullAddress());
+        values.put("postalCode", address.getPostalCode());
+        values.put("city", address.getCity());
+        putUser(values, address.getUser());
+        return FACTORY.createProjection(AddressView.class, values);
+    }
+
+    public static VerificationTokenView verificationTokenView(final VerificationToken verificationToken) {
+        final Map<String, Object> values = new HashMap<>();
+        values.put("verificationTokenId", verificationToken.getVerificationTokenId());
+        values.put("expireDate", verificationToken.getExpireDate());
+        putCredential(values, verificationToken.getCredential());
+        return FACTORY.createProjection(VerificationTokenView.class, values);
+    }
+
+    private static void putUser(final Map<String, Object> values, final User user) {
+        if (user == null)
+            return;
+        values.put("userId", user.getUserId());
+        values.put("firstName", user.getFirstName());
+        values.put("lastName", user.getLastName());
+        values.put("imageUrl", user.getImageUrl());
+        values.put("email", user.getEmail());
+        values.put("phone", user.getPhone());
+    }
+
+    private static void putCredential(final Map<String, Object> values, final Credential credential) {
+        if (credential == null)
+            return;
+        values.put("credentialId", credential.getCredentialId());
+        values.put("username", credential.getUsername());
+        values.put("roleBasedAuthority", credential.getRoleBasedAuthority());
+        values.put("isEnabled", credential.getIsEnabled());
+        values.put("isAccountNonExpired", credential.getIsAccountNonExpired());
+        values.put("isAccountNonLocked", credential.getIsAccountNonLocked());
+        values.put("isCredentialsNonExpired", credential.getIsCredentialsNonExpired());
+    }
+
+}
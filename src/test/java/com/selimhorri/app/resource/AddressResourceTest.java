@@ -21,6 +21,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.AddressDto;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.handler.GlobalExceptionHandler;
 import com.selimhorri.app.exception.wrapper.AddressNotFoundException;
 import com.selimhorri.app.service.AddressService;
 
@@ -69,6 +70,20 @@ public class AddressResourceTest {
         verify(addressService, times(1)).findAll();
     }
     
+    @Test
+    void findAllPage_shouldReturnNextCursorWhenPageIsFull() throws Exception {
+        when(addressService.findAll(null, 1)).thenReturn(List.of(addressDto));
+        
+        mockMvc.perform(get("/api/address")
+                .param("limit", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection[0].addressId").value(1))
+                .andExpect(jsonPath("$.nextCursor").value(1));
+        
+        verify(addressService, never()).findAll();
+    }
+    
     @Test
     void findById_shouldReturnAddressWhenFound() throws Exception {
         when(addressService.findById(anyInt())).thenReturn(addressDto);
@@ -122,6 +137,62 @@ public class AddressResourceTest {
         verify(addressService, times(1)).update(eq(1), any(AddressDto.class));
     }
     
+    @Test
+    void findById_shouldReturnEntityTagOfAddressAndUserVersions() throws Exception {
+        addressDto.setVersion(3L);
+        addressDto.getUserDto().setVersion(7L);
+        when(addressService.findById(anyInt())).thenReturn(addressDto);
+        
+        mockMvc.perform(get("/api/address/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.7\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+    
+    @Test
+    void findById_shouldReturnNotModifiedWhenEntityTagMatches() throws Exception {
+        addressDto.setVersion(3L);
+        addressDto.getUserDto().setVersion(7L);
+        when(addressService.findById(anyInt())).thenReturn(addressDto);
+        
+        mockMvc.perform(get("/api/address/1")
+                .header("If-None-Match", "\"3.7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+    
+    @Test
+    void updateWithId_shouldPassIfMatchVersionToService() throws Exception {
+        AddressDto updated = new AddressDto();
+        updated.setAddressId(1);
+        updated.setVersion(4L);
+        when(addressService.update(anyInt(), any(AddressDto.class))).thenReturn(updated);
+        
+        mockMvc.perform(put("/api/address/1")
+                .header("If-Match", "\"3.7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(addressDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4.0\""));
+        
+        verify(addressService, times(1)).update(eq(1), argThat(dto -> Long.valueOf(3L).equals(dto.getVersion())));
+    }
+    
+    @Test
+    void updateWithId_shouldAnswerPreconditionFailedOnWeakIfMatch() throws Exception {
+        MockMvc adviced = MockMvcBuilders.standaloneSetup(addressResource)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        
+        adviced.perform(put("/api/address/1")
+                .header("If-Match", "W/\"3.7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(addressDto)))
+                .andExpect(status().isPreconditionFailed());
+        
+        verifyNoInteractions(addressService);
+    }
+    
     @Test
     void deleteById_shouldDeleteAddress() throws Exception {
         doNothing().when(addressService).deleteById(anyInt());
@@ -0,0 +1,79 @@
+package com.selimhorri.app.resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.app.dto.AddressDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.service.AddressService;
+
+/**
+ * Goes through the real message converters (unlike the standalone resource tests).
+ */
+@WebMvcTest(AddressResource.class)
+@Import(MapperConfig.class)
+class ContentNegotiationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AddressService addressService;
+
+    @BeforeEach
+    void setUp() {
+        final List<AddressDto> addresses = IntStream.rangeClosed(1, 50)
+                .mapToObj(i -> AddressDto.builder()
+                        .addressId(i)
+                        .fullAddress("carthage byrsa " + i)
+                        .postalCode("2016")
+                        .city("carthage")
+                        .userDto(UserDto.builder().userId(i).firstName("John").lastName("Doe").build())
+                        .build())
+                .collect(Collectors.toList());
+        when(addressService.findAll()).thenReturn(addresses);
+    }
+
+    @Test
+    void findAll_shouldDefaultToJson() throws Exception {
+        mockMvc.perform(get("/api/address"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.collection[0].addressId").value(1));
+    }
+
+    @Test
+    void findAll_shouldAnswerCborWhenAccepted() throws Exception {
+        final byte[] json = mockMvc.perform(get("/api/address").accept("application/json"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        final byte[] cbor = mockMvc.perform(get("/api/address").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        final JsonNode collection = new CBORMapper().readTree(cbor).get("collection");
+        assertEquals(50, collection.size());
+        assertEquals("carthage byrsa 50", collection.get(49).get("fullAddress").asText());
+        assertEquals(50, collection.get(49).get("user").get("userId").asInt());
+        assertTrue(cbor.length < json.length, () -> cbor.length + " >= " + json.length);
+    }
+
+}
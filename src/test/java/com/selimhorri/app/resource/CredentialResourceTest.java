@@ -79,6 +79,20 @@ public class CredentialResourceTest {
         verify(credentialService, times(1)).findAll();
     }
     
+    @Test
+    void findAllPage_shouldReturnNextCursorWhenPageIsFull() throws Exception {
+        when(credentialService.findAll(null, 1)).thenReturn(List.of(credentialDto));
+        
+        mockMvc.perform(get("/api/credentials")
+                .param("limit", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection[0].credentialId").value(1))
+                .andExpect(jsonPath("$.nextCursor").value(1));
+        
+        verify(credentialService, never()).findAll();
+    }
+    
     @Test
     void findByUsername_shouldReturnCredentialWhenFound() throws Exception {
         when(credentialService.findByUsername(anyString())).thenReturn(credentialDto);
@@ -91,6 +105,43 @@ public class CredentialResourceTest {
         verify(credentialService, times(1)).findByUsername("johndoe");
     }
     
+    @Test
+    void findAll_shouldNeverSerializePassword() throws Exception {
+        credentialDto.setPassword("$2a$10$hash");
+        when(credentialService.findAll()).thenReturn(List.of(credentialDto));
+        
+        mockMvc.perform(get("/api/credentials"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection[0].username").value("johndoe"))
+                .andExpect(jsonPath("$.collection[0].password").doesNotExist());
+    }
+    
+    @Test
+    void save_shouldStillAcceptPasswordInRequestBody() throws Exception {
+        when(credentialService.save(any(CredentialDto.class))).thenReturn(credentialDto);
+        
+        mockMvc.perform(post("/api/credentials")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"johndoe\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.password").doesNotExist());
+        
+        verify(credentialService, times(1)).save(argThat(dto -> "secret".equals(dto.getPassword())));
+    }
+    
+    @Test
+    void verify_shouldReturnVerificationResult() throws Exception {
+        when(credentialService.verify("johndoe", "secret")).thenReturn(true);
+        
+        mockMvc.perform(post("/api/credentials/verify")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"johndoe\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("true"));
+        
+        verify(credentialService, times(1)).verify("johndoe", "secret");
+    }
+    
     @Test
     void findByUsername_shouldReturn404WhenNotFound() throws Exception {
         when(credentialService.findByUsername(anyString()))
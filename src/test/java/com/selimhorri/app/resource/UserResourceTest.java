@@ -4,22 +4,34 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.DtoImportReport;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
+import com.selimhorri.app.service.UserExportService;
+import com.selimhorri.app.service.UserImportService;
 import com.selimhorri.app.service.UserService;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +43,15 @@ public class UserResourceTest {
     @Mock
     private UserService userService;
     
+    @Mock
+    private UserImportService userImportService;
+    
+    @Mock
+    private UserExportService userExportService;
+    
+    @Spy
+    private ObjectMapper resourceObjectMapper = new ObjectMapper();
+    
     @InjectMocks
     private UserResource userResource;
     
@@ -61,6 +82,89 @@ public class UserResourceTest {
         verify(userService, times(1)).findAll();
     }
     
+    @Test
+    void findAllPage_shouldReturnNextCursorWhenPageIsFull() throws Exception {
+        when(userService.findAll(null, 1)).thenReturn(List.of(userDto));
+        
+        mockMvc.perform(get("/api/users")
+                .param("limit", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection[0].userId").value(1))
+                .andExpect(jsonPath("$.nextCursor").value(1));
+        
+        verify(userService, never()).findAll();
+    }
+    
+    @Test
+    void findAllPage_shouldOmitNextCursorOnLastPage() throws Exception {
+        when(userService.findAll(1, 5)).thenReturn(List.of(userDto));
+        
+        mockMvc.perform(get("/api/users")
+                .param("limit", "5")
+                .param("after", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamAll_shouldWriteUsersIncrementally() throws Exception {
+        doAnswer(invocation -> {
+            ((Consumer<UserDto>) invocation.getArgument(0)).accept(userDto);
+            return null;
+        }).when(userService).streamAll(any());
+        
+        MvcResult result = mockMvc.perform(get("/api/users/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection[0].userId").value(1));
+    }
+    
+    @Test
+    void exportAll_shouldStreamNdjson() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("{\"userId\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(userExportService).exportNdjson(any());
+        
+        MvcResult result = mockMvc.perform(get("/api/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string("{\"userId\":1}\n"));
+    }
+    
+    @Test
+    void exportAll_shouldGzipWhenAccepted() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("{\"userId\":1}\n".getBytes(StandardCharsets.UTF_8));
+            invocation.getArgument(0, OutputStream.class).close();
+            return 1L;
+        }).when(userExportService).exportNdjson(any());
+        
+        MvcResult result = mockMvc.perform(get("/api/users/export").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("{\"userId\":1}\n", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+    
     @Test
     void findById_shouldReturnUserWhenFound() throws Exception {
         when(userService.findById(anyInt())).thenReturn(userDto);
@@ -85,6 +189,49 @@ public class UserResourceTest {
         verify(userService, times(1)).findByUsername("johndoe");
     }
     
+    @Test
+    void findAllByIds_shouldReturnFoundUsersAndMissingIds() throws Exception {
+        when(userService.findAllByIds(List.of(1, 99))).thenReturn(Map.of(1, userDto));
+        
+        mockMvc.perform(post("/api/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 99]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection.1.userId").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(99));
+        
+        verify(userService, times(1)).findAllByIds(List.of(1, 99));
+    }
+    
+    @Test
+    void importCsv_shouldReturnImportReport() throws Exception {
+        when(userImportService.importCsv(any())).thenReturn(new DtoImportReport(2, 1, 1,
+                List.of(new DtoImportReport.RowError(2, "lastName is required"))));
+        
+        mockMvc.perform(post("/api/users/bulk")
+                .contentType("text/csv")
+                .content("firstName,lastName\nJohn,Doe\nJane,\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+        
+        verify(userImportService, times(1)).importCsv(any());
+        verify(userImportService, never()).importNdjson(any());
+    }
+    
+    @Test
+    void importNdjson_shouldDispatchOnContentType() throws Exception {
+        when(userImportService.importNdjson(any())).thenReturn(new DtoImportReport(1, 1, 0, List.of()));
+        
+        mockMvc.perform(post("/api/users/bulk")
+                .contentType("application/x-ndjson")
+                .content("{\"firstName\":\"John\",\"lastName\":\"Doe\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(1));
+        
+        verify(userImportService, times(1)).importNdjson(any());
+    }
+    
     @Test
     void save_shouldSaveUser() throws Exception {
         when(userService.save(any(UserDto.class))).thenReturn(userDto);
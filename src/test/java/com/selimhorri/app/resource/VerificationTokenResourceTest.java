@@ -74,6 +74,32 @@ public class VerificationTokenResourceTest {
         verify(verificationTokenService, times(1)).findAll();
     }
     
+    @Test
+    void findAllPage_shouldReturnNextCursorWhenPageIsFull() throws Exception {
+        when(verificationTokenService.findAll(null, 1)).thenReturn(List.of(verificationTokenDto));
+        
+        mockMvc.perform(get("/api/verificationTokens")
+                .param("limit", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection[0].verificationTokenId").value(1))
+                .andExpect(jsonPath("$.nextCursor").value(1));
+        
+        verify(verificationTokenService, never()).findAll();
+    }
+    
+    @Test
+    void findByToken_shouldReturnTokenWhenFound() throws Exception {
+        when(verificationTokenService.findByToken("test-token")).thenReturn(verificationTokenDto);
+        
+        mockMvc.perform(get("/api/verificationTokens/token/test-token")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.verificationTokenId").value(1));
+        
+        verify(verificationTokenService, times(1)).findByToken("test-token");
+    }
+    
     @Test
     void findById_shouldReturnTokenWhenFound() throws Exception {
         when(verificationTokenService.findById(anyInt())).thenReturn(verificationTokenDto);
@@ -0,0 +1,33 @@
+package com.selimhorri.app.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class BCryptStrengthCalibratorTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void strengthFor_shouldDoubleWorkPerCostStepUntilTarget() {
+        // 1ms at cost 4 -> 128ms at cost 11, 256ms at cost 12 overshoots 250ms
+        assertEquals(11, BCryptStrengthCalibrator.strengthFor(MILLI, 250 * MILLI, 4, 16));
+        assertEquals(12, BCryptStrengthCalibrator.strengthFor(MILLI, 256 * MILLI, 4, 16));
+    }
+
+    @Test
+    void strengthFor_shouldClampToConfiguredBounds() {
+        assertEquals(10, BCryptStrengthCalibrator.strengthFor(100 * MILLI, 250 * MILLI, 10, 16));
+        assertEquals(16, BCryptStrengthCalibrator.strengthFor(1, Duration.ofHours(1).toNanos(), 4, 16));
+    }
+
+    @Test
+    void calibrate_shouldStayWithinBounds() {
+        final int strength = BCryptStrengthCalibrator.calibrate(Duration.ofMillis(5), 4, 6);
+
+        assertTrue(strength >= 4 && strength <= 6);
+    }
+
+}
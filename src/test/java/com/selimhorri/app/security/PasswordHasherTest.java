@@ -0,0 +1,103 @@
+package com.selimhorri.app.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.selimhorri.app.config.enconder.PasswordHashingProperties;
+import com.selimhorri.app.exception.wrapper.PasswordHashingUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    private PasswordHasher hasher(final PasswordEncoder passwordEncoder, final int poolSize, final int queueCapacity) {
+        final PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setPoolSize(poolSize);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setTimeout(Duration.ofSeconds(5));
+        passwordHasher = new PasswordHasher(passwordEncoder, properties, meterRegistry);
+        return passwordHasher;
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void encode_shouldHashOnDedicatedPool() {
+        final PasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        final String encoded = hasher(bcrypt, 1, 1).encode("secret");
+
+        assertTrue(PasswordHasher.isEncoded(encoded));
+        assertTrue(bcrypt.matches("secret", encoded));
+    }
+
+    @Test
+    void encodeIfRaw_shouldSkipAlreadyEncodedPasswords() {
+        final String otherHash = new BCryptPasswordEncoder(4).encode("other");
+        hasher(new BCryptPasswordEncoder(4), 1, 1);
+
+        assertSame(otherHash, passwordHasher.encodeIfRaw(otherHash));
+        assertTrue(PasswordHasher.isEncoded(passwordHasher.encodeIfRaw("secret")));
+    }
+
+    @Test
+    void encodeIfRaw_shouldReturnNullWhenNoPasswordSubmitted() {
+        hasher(new BCryptPasswordEncoder(4), 1, 1);
+
+        assertNull(passwordHasher.encodeIfRaw(null));
+    }
+
+    @Test
+    void matches_shouldVerifyAndFlagWeakerCostForUpgrade() {
+        final String seeded = new BCryptPasswordEncoder(4).encode("secret");
+        hasher(new BCryptPasswordEncoder(5), 1, 1);
+
+        assertTrue(passwordHasher.matches("secret", seeded));
+        assertFalse(passwordHasher.matches("wrong", seeded));
+        assertFalse(passwordHasher.matches("secret", null));
+        assertTrue(passwordHasher.needsUpgrade(seeded));
+        assertFalse(passwordHasher.needsUpgrade(passwordHasher.encode("secret")));
+    }
+
+    @Test
+    void encode_shouldRejectWhenPoolAndQueueAreFull() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(final CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        hasher(blocking, 1, 1);
+
+        passwordHasher.encodeAsync("running");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        passwordHasher.encodeAsync("queued");
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> passwordHasher.encode("rejected"));
+        assertEquals(1, meterRegistry.counter("password.hashing.rejected").count());
+        release.countDown();
+    }
+
+}
@@ -3,6 +3,7 @@ package com.selimhorri.app.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static com.selimhorri.app.repository.projection.ProjectionFixtures.addressView;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,7 +14,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Address;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.AddressDto;
@@ -140,43 +143,64 @@ public class AddressServiceTest {
     
     @Test
     void findAll_shouldReturnListOfAddresses() {
-        when(addressRepository.findAll()).thenReturn(List.of(address));
+        when(addressRepository.findAllViews()).thenReturn(List.of(addressView(address)));
         
         List<AddressDto> result = addressService.findAll();
         
         assertEquals(1, result.size());
         assertEquals(address.getAddressId(), result.get(0).getAddressId());
-        verify(addressRepository, times(1)).findAll();
+        verify(addressRepository, times(1)).findAllViews();
     }
     
     @Test
     void findAll_shouldReturnEmptyListWhenNoAddresses() {
-        when(addressRepository.findAll()).thenReturn(List.of());
+        when(addressRepository.findAllViews()).thenReturn(List.of());
         
         List<AddressDto> result = addressService.findAll();
         
         assertTrue(result.isEmpty());
-        verify(addressRepository, times(1)).findAll();
+        verify(addressRepository, times(1)).findAllViews();
+    }
+    
+    @Test
+    void findAllPage_shouldQueryKeysetAfterCursor() {
+        when(addressRepository.findPageViewsAfter(1, PageRequest.of(0, 10))).thenReturn(List.of(addressView(address)));
+        
+        List<AddressDto> result = addressService.findAll(1, 10);
+        
+        assertEquals(1, result.size());
+        assertEquals(address.getAddressId(), result.get(0).getAddressId());
+        verify(addressRepository, never()).findAllViews();
+    }
+    
+    @Test
+    void findAllPage_shouldStartFromBeginningAndCapLimit() {
+        when(addressRepository.findPageViewsAfter(0, PageRequest.of(0, AppConstant.MAX_PAGE_SIZE))).thenReturn(List.of());
+        
+        List<AddressDto> result = addressService.findAll(null, AppConstant.MAX_PAGE_SIZE + 1);
+        
+        assertTrue(result.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> addressService.findAll(null, 0));
     }
     
     @Test
     void findById_shouldReturnAddressWhenFound() {
-        when(addressRepository.findById(1)).thenReturn(Optional.of(address));
+        when(addressRepository.findViewById(1)).thenReturn(Optional.of(addressView(address)));
         
         AddressDto result = addressService.findById(1);
         
         assertNotNull(result);
         assertEquals(address.getAddressId(), result.getAddressId());
         assertEquals("123 Main St, Apt 4B", result.getFullAddress());
-        verify(addressRepository, times(1)).findById(1);
+        verify(addressRepository, times(1)).findViewById(1);
     }
     
     @Test
     void findById_shouldThrowExceptionWhenNotFound() {
-        when(addressRepository.findById(99)).thenReturn(Optional.empty());
+        when(addressRepository.findViewById(99)).thenReturn(Optional.empty());
         
         assertThrows(AddressNotFoundException.class, () -> addressService.findById(99));
-        verify(addressRepository, times(1)).findById(99);
+        verify(addressRepository, times(1)).findViewById(99);
     }
     
     @Test
@@ -210,15 +234,15 @@ public class AddressServiceTest {
                 .withCity("Los Angeles")
                 .build();
         
-        when(addressRepository.findById(1)).thenReturn(Optional.of(address));
-        when(addressRepository.save(any(Address.class))).thenReturn(address);
+        when(addressRepository.findWithUserByAddressId(1)).thenReturn(Optional.of(address));
+        when(addressRepository.saveAndFlush(any(Address.class))).thenReturn(address);
         
         AddressDto result = addressService.update(addressDto);
         
         assertNotNull(result);
         assertEquals(1, result.getAddressId());
-        verify(addressRepository, times(1)).findById(1);
-        verify(addressRepository, times(1)).save(any(Address.class));
+        verify(addressRepository, times(1)).findWithUserByAddressId(1);
+        verify(addressRepository, times(1)).saveAndFlush(any(Address.class));
     }
     
     @Test
@@ -227,10 +251,10 @@ public class AddressServiceTest {
                 .withAddressId(99)
                 .build();
         
-        when(addressRepository.findById(99)).thenReturn(Optional.empty());
+        when(addressRepository.findWithUserByAddressId(99)).thenReturn(Optional.empty());
         
         assertThrows(AddressNotFoundException.class, () -> addressService.update(addressDto));
-        verify(addressRepository, times(1)).findById(99);
+        verify(addressRepository, times(1)).findWithUserByAddressId(99);
     }
     
     @Test
@@ -241,15 +265,15 @@ public class AddressServiceTest {
                 .withCity("Los Angeles")
                 .build();
         
-        when(addressRepository.findById(1)).thenReturn(Optional.of(address));
-        when(addressRepository.save(any(Address.class))).thenReturn(address);
+        when(addressRepository.findWithUserByAddressId(1)).thenReturn(Optional.of(address));
+        when(addressRepository.saveAndFlush(any(Address.class))).thenReturn(address);
         
         AddressDto result = addressService.update(1, addressDto);
         
         assertNotNull(result);
         assertEquals(1, result.getAddressId());
-        verify(addressRepository, times(1)).findById(1);
-        verify(addressRepository, times(1)).save(any(Address.class));
+        verify(addressRepository, times(1)).findWithUserByAddressId(1);
+        verify(addressRepository, times(1)).saveAndFlush(any(Address.class));
     }
     
     @Test
@@ -259,15 +283,15 @@ public class AddressServiceTest {
                 .withUserDto(new UserDtoBuilder().withUserId(2).build()) // Intentar cambiar usuario
                 .build();
         
-        when(addressRepository.findById(1)).thenReturn(Optional.of(address));
-        when(addressRepository.save(any(Address.class))).thenReturn(address);
+        when(addressRepository.findWithUserByAddressId(1)).thenReturn(Optional.of(address));
+        when(addressRepository.saveAndFlush(any(Address.class))).thenReturn(address);
         
         AddressDto result = addressService.update(1, addressDto);
         
         // Verificar que el usuario original se mantuvo
         assertEquals(1, address.getUser().getUserId());
-        verify(addressRepository, times(1)).findById(1);
-        verify(addressRepository, times(1)).save(any(Address.class));
+        verify(addressRepository, times(1)).findWithUserByAddressId(1);
+        verify(addressRepository, times(1)).saveAndFlush(any(Address.class));
     }
     
     @Test
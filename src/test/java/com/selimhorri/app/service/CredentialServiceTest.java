@@ -3,6 +3,8 @@ package com.selimhorri.app.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static com.selimhorri.app.repository.projection.ProjectionFixtures.credentialSecretView;
+import static com.selimhorri.app.repository.projection.ProjectionFixtures.credentialView;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,8 +15,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.selimhorri.app.cache.UsernameCacheInvalidator;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.RoleBasedAuthority;
 import com.selimhorri.app.domain.User;
@@ -25,6 +30,7 @@ import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.exception.wrapper.UsernameAlreadyExistsException;
 import com.selimhorri.app.repository.CredentialRepository;
 import com.selimhorri.app.repository.UserRepository;
+import com.selimhorri.app.security.PasswordHasher;
 import com.selimhorri.app.service.impl.CredentialServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,7 +43,13 @@ public class CredentialServiceTest {
     private UserRepository userRepository;
     
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+    
+    @Mock
+    private UsernameCacheInvalidator usernameCacheInvalidator;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
     
     @InjectMocks
     private CredentialServiceImpl credentialService;
@@ -183,23 +195,44 @@ public class CredentialServiceTest {
     
     @Test
     void findAll_shouldReturnListOfCredentials() {
-        when(credentialRepository.findAll()).thenReturn(List.of(credential));
+        when(credentialRepository.findAllViews()).thenReturn(List.of(credentialView(credential)));
         
         List<CredentialDto> result = credentialService.findAll();
         
         assertEquals(1, result.size());
         assertEquals(credential.getCredentialId(), result.get(0).getCredentialId());
-        verify(credentialRepository, times(1)).findAll();
+        verify(credentialRepository, times(1)).findAllViews();
     }
     
     @Test
     void findAll_shouldReturnEmptyListWhenNoCredentials() {
-        when(credentialRepository.findAll()).thenReturn(List.of());
+        when(credentialRepository.findAllViews()).thenReturn(List.of());
         
         List<CredentialDto> result = credentialService.findAll();
         
         assertTrue(result.isEmpty());
-        verify(credentialRepository, times(1)).findAll();
+        verify(credentialRepository, times(1)).findAllViews();
+    }
+    
+    @Test
+    void findAllPage_shouldQueryKeysetAfterCursor() {
+        when(credentialRepository.findPageViewsAfter(1, PageRequest.of(0, 10))).thenReturn(List.of(credentialView(credential)));
+        
+        List<CredentialDto> result = credentialService.findAll(1, 10);
+        
+        assertEquals(1, result.size());
+        assertEquals(credential.getCredentialId(), result.get(0).getCredentialId());
+        verify(credentialRepository, never()).findAllViews();
+    }
+    
+    @Test
+    void findAllPage_shouldStartFromBeginningAndCapLimit() {
+        when(credentialRepository.findPageViewsAfter(0, PageRequest.of(0, AppConstant.MAX_PAGE_SIZE))).thenReturn(List.of());
+        
+        List<CredentialDto> result = credentialService.findAll(null, AppConstant.MAX_PAGE_SIZE + 1);
+        
+        assertTrue(result.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> credentialService.findAll(null, 0));
     }
     
     @Test
@@ -223,21 +256,21 @@ public class CredentialServiceTest {
     
     @Test
     void findByUsername_shouldReturnCredentialWhenFound() {
-        when(credentialRepository.findByUsername("johndoe")).thenReturn(Optional.of(credential));
+        when(credentialRepository.findWithUserByUsername("johndoe")).thenReturn(Optional.of(credential));
         
         CredentialDto result = credentialService.findByUsername("johndoe");
         
         assertNotNull(result);
         assertEquals("johndoe", result.getUsername());
-        verify(credentialRepository, times(1)).findByUsername("johndoe");
+        verify(credentialRepository, times(1)).findWithUserByUsername("johndoe");
     }
     
     @Test
     void findByUsername_shouldThrowExceptionWhenNotFound() {
-        when(credentialRepository.findByUsername("unknown")).thenReturn(Optional.empty());
+        when(credentialRepository.findWithUserByUsername("unknown")).thenReturn(Optional.empty());
         
         assertThrows(UserObjectNotFoundException.class, () -> credentialService.findByUsername("unknown"));
-        verify(credentialRepository, times(1)).findByUsername("unknown");
+        verify(credentialRepository, times(1)).findWithUserByUsername("unknown");
     }
     
     @Test
@@ -258,7 +291,7 @@ public class CredentialServiceTest {
         when(credentialRepository.existsByUsername("newuser")).thenReturn(false);
         when(userRepository.findById(1)).thenReturn(Optional.of(user));
         when(credentialRepository.existsByUserUserId(1)).thenReturn(false);
-        when(passwordEncoder.encode("rawPassword")).thenReturn("encodedPassword");
+        when(passwordHasher.encode("rawPassword")).thenReturn("encodedPassword");
         when(credentialRepository.save(any(Credential.class))).thenReturn(credential);
         
         CredentialDto result = credentialService.save(credentialDto);
@@ -268,7 +301,7 @@ public class CredentialServiceTest {
         verify(credentialRepository, times(1)).existsByUsername("newuser");
         verify(userRepository, times(1)).findById(1);
         verify(credentialRepository, times(1)).existsByUserUserId(1);
-        verify(passwordEncoder, times(1)).encode("rawPassword");
+        verify(passwordHasher, times(1)).encode("rawPassword");
         verify(credentialRepository, times(1)).save(any(Credential.class));
     }
     
@@ -334,17 +367,34 @@ public class CredentialServiceTest {
                 .withIsEnabled(false)
                 .build();
         
-        when(credentialRepository.findById(1)).thenReturn(Optional.of(credential));
-        when(passwordEncoder.encode("newPassword")).thenReturn("newEncodedPassword");
-        when(credentialRepository.save(any(Credential.class))).thenReturn(credential);
+        when(credentialRepository.findWithUserByCredentialId(1)).thenReturn(Optional.of(credential));
+        when(passwordHasher.encodeIfRaw("newPassword")).thenReturn("newEncodedPassword");
+        when(credentialRepository.saveAndFlush(any(Credential.class))).thenReturn(credential);
         
         CredentialDto result = credentialService.update(credentialDto);
         
         assertNotNull(result);
         assertEquals(1, result.getCredentialId());
-        verify(credentialRepository, times(1)).findById(1);
-        verify(passwordEncoder, times(1)).encode("newPassword");
-        verify(credentialRepository, times(1)).save(any(Credential.class));
+        verify(usernameCacheInvalidator, times(1)).invalidateCredential(1, "johndoe", "updateduser");
+        verify(credentialRepository, times(1)).findWithUserByCredentialId(1);
+        assertEquals("newEncodedPassword", credential.getPassword());
+        verify(passwordHasher, times(1)).encodeIfRaw("newPassword");
+        verify(credentialRepository, times(1)).saveAndFlush(any(Credential.class));
+    }
+    
+    @Test
+    void update_shouldKeepStoredHashWhenNoPasswordSubmitted() {
+        CredentialDto credentialDto = new CredentialDtoBuilder()
+                .withCredentialId(1)
+                .withUsername("johndoe")
+                .build();
+        
+        when(credentialRepository.findWithUserByCredentialId(1)).thenReturn(Optional.of(credential));
+        when(credentialRepository.saveAndFlush(any(Credential.class))).thenReturn(credential);
+        
+        credentialService.update(credentialDto);
+        
+        assertEquals("encodedPassword", credential.getPassword());
     }
     
     @Test
@@ -353,10 +403,10 @@ public class CredentialServiceTest {
                 .withCredentialId(99)
                 .build();
         
-        when(credentialRepository.findById(99)).thenReturn(Optional.empty());
+        when(credentialRepository.findWithUserByCredentialId(99)).thenReturn(Optional.empty());
         
         assertThrows(CredentialNotFoundException.class, () -> credentialService.update(credentialDto));
-        verify(credentialRepository, times(1)).findById(99);
+        verify(credentialRepository, times(1)).findWithUserByCredentialId(99);
     }
     
     @Test
@@ -368,35 +418,77 @@ public class CredentialServiceTest {
                 .withIsEnabled(false)
                 .build();
         
-        when(credentialRepository.findById(1)).thenReturn(Optional.of(credential));
-        when(passwordEncoder.encode("newPassword")).thenReturn("newEncodedPassword");
-        when(credentialRepository.save(any(Credential.class))).thenReturn(credential);
+        when(credentialRepository.findWithUserByCredentialId(1)).thenReturn(Optional.of(credential));
+        when(passwordHasher.encodeIfRaw("newPassword")).thenReturn("newEncodedPassword");
+        when(credentialRepository.saveAndFlush(any(Credential.class))).thenReturn(credential);
         
         CredentialDto result = credentialService.update(1, credentialDto);
         
         assertNotNull(result);
         assertEquals(1, result.getCredentialId());
-        verify(credentialRepository, times(1)).findById(1);
-        verify(passwordEncoder, times(1)).encode("newPassword");
-        verify(credentialRepository, times(1)).save(any(Credential.class));
+        verify(usernameCacheInvalidator, times(1)).invalidateCredential(1, "johndoe", "updateduser");
+        verify(credentialRepository, times(1)).findWithUserByCredentialId(1);
+        assertEquals("newEncodedPassword", credential.getPassword());
+        verify(passwordHasher, times(1)).encodeIfRaw("newPassword");
+        verify(credentialRepository, times(1)).saveAndFlush(any(Credential.class));
+    }
+    
+    @Test
+    void verify_shouldUpgradeOutdatedHashAfterSuccessfulMatch() {
+        when(credentialRepository.findSecretByUsername("johndoe")).thenReturn(Optional.of(credentialSecretView(credential)));
+        when(passwordHasher.matches("rawPassword", "encodedPassword")).thenReturn(true);
+        when(passwordHasher.needsUpgrade("encodedPassword")).thenReturn(true);
+        when(passwordHasher.encode("rawPassword")).thenReturn("strongerPassword");
+        
+        assertTrue(credentialService.verify("johndoe", "rawPassword"));
+        
+        verify(usernameCacheInvalidator, times(1)).invalidateCredential(1, "johndoe");
+        verify(credentialRepository, times(1)).updatePassword(1, "encodedPassword", "strongerPassword");
+    }
+    
+    @Test
+    void verify_shouldNotRehashCurrentHash() {
+        when(credentialRepository.findSecretByUsername("johndoe")).thenReturn(Optional.of(credentialSecretView(credential)));
+        when(passwordHasher.matches("rawPassword", "encodedPassword")).thenReturn(true);
+        when(passwordHasher.needsUpgrade("encodedPassword")).thenReturn(false);
+        
+        assertTrue(credentialService.verify("johndoe", "rawPassword"));
+        
+        verify(passwordHasher, never()).encode(any());
+        verify(credentialRepository, never()).updatePassword(any(), any(), any());
+    }
+    
+    @Test
+    void verify_shouldRejectWrongPasswordOrUnknownUser() {
+        when(credentialRepository.findSecretByUsername("johndoe")).thenReturn(Optional.of(credentialSecretView(credential)));
+        when(credentialRepository.findSecretByUsername("unknown")).thenReturn(Optional.empty());
+        when(passwordHasher.matches(anyString(), any())).thenReturn(false);
+        
+        assertFalse(credentialService.verify("johndoe", "wrongPassword"));
+        assertFalse(credentialService.verify("unknown", "rawPassword"));
+        
+        verify(passwordHasher, times(1)).matches("rawPassword", null);
+        verify(credentialRepository, never()).updatePassword(any(), any(), any());
     }
     
     @Test
     void deleteById_shouldDeleteCredentialWhenFound() {
-        when(credentialRepository.existsById(1)).thenReturn(true);
+        when(credentialRepository.findViewById(1)).thenReturn(Optional.of(credentialView(credential)));
         doNothing().when(credentialRepository).deleteByCredentialId(1);
         
         credentialService.deleteById(1);
         
-        verify(credentialRepository, times(1)).existsById(1);
+        verify(credentialRepository, times(1)).findViewById(1);
+        verify(usernameCacheInvalidator, times(1)).invalidateCredential(1, "johndoe");
         verify(credentialRepository, times(1)).deleteByCredentialId(1);
     }
     
     @Test
     void deleteById_shouldThrowExceptionWhenNotFound() {
-        when(credentialRepository.existsById(99)).thenReturn(false);
+        when(credentialRepository.findViewById(99)).thenReturn(Optional.empty());
         
         assertThrows(CredentialNotFoundException.class, () -> credentialService.deleteById(99));
-        verify(credentialRepository, times(1)).existsById(99);
+        verify(credentialRepository, times(1)).findViewById(99);
+        verify(credentialRepository, never()).deleteByCredentialId(any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.selimhorri.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.helper.UserMappingHelper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures what the old {@code .distinct()} in the findAll paths cost on a 100k-row listing,
+ * excluded from the regular build:
+ *
+ * <pre>
+ * mvn -Pbenchmark test [-Dbenchmark.rows=100000 -Dbenchmark.rounds=10]
+ * </pre>
+ *
+ * Both variants map the same rows to DTOs; the distinct one additionally hashes every DTO
+ * (and its nested credential) into a set. Thread CPU time and allocated bytes are taken from
+ * the platform {@link com.sun.management.ThreadMXBean} and averaged over the measured rounds.
+ */
+@Tag("benchmark")
+@Slf4j
+class ListingDistinctBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 10);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static List<User> rows;
+
+    @BeforeAll
+    static void seed() {
+        rows = new ArrayList<>(ROWS);
+        for (int id = 1; id <= ROWS; id++) {
+            final User user = User.builder()
+                    .userId(id)
+                    .firstName("First" + id)
+                    .lastName("Last" + id)
+                    .imageUrl("https://cdn.example.com/u/" + id + ".png")
+                    .email("user" + id + "@example.com")
+                    .phone("+2126" + id)
+                    .build();
+            user.setVersion(0L);
+            final Credential credential = Credential.builder()
+                    .credentialId(id)
+                    .username("user" + id)
+                    .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                    .isEnabled(true)
+                    .isAccountNonExpired(true)
+                    .isAccountNonLocked(true)
+                    .isCredentialsNonExpired(true)
+                    .user(user)
+                    .build();
+            credential.setVersion(0L);
+            user.setCredential(credential);
+            rows.add(user);
+        }
+    }
+
+    @Test
+    void keyOrderedListingWithoutDistinct() {
+        final Measurement distinct = measure(users -> users.stream()
+                .map(UserMappingHelper::map)
+                .distinct()
+                .collect(Collectors.toUnmodifiableList()));
+        final Measurement plain = measure(users -> users.stream()
+                .map(UserMappingHelper::map)
+                .collect(Collectors.toUnmodifiableList()));
+
+        log.info("*** {} rows, distinct: {} ms cpu / {} MB allocated; plain: {} ms cpu / {} MB allocated *",
+                ROWS, distinct.cpuMillis(), distinct.allocatedMegabytes(),
+                plain.cpuMillis(), plain.allocatedMegabytes());
+
+        // CPU time is too noisy on shared runners to assert on; the set alone guarantees the allocation gap
+        assertTrue(plain.allocatedBytes < distinct.allocatedBytes,
+                "listing without distinct() must allocate less than with it");
+    }
+
+    private static Measurement measure(final Function<List<User>, List<UserDto>> listing) {
+        final long threadId = Thread.currentThread().getId();
+        for (int round = 0; round < ROUNDS; round++)
+            assertEquals(ROWS, listing.apply(rows).size());
+
+        long cpu = 0;
+        long allocated = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long cpuBefore = THREADS.getCurrentThreadCpuTime();
+            final long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+            assertEquals(ROWS, listing.apply(rows).size());
+            cpu += THREADS.getCurrentThreadCpuTime() - cpuBefore;
+            allocated += THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        }
+        return new Measurement(cpu / ROUNDS, allocated / ROUNDS);
+    }
+
+    private static final class Measurement {
+
+        private final long cpuNanos;
+        private final long allocatedBytes;
+
+        private Measurement(final long cpuNanos, final long allocatedBytes) {
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        private long cpuMillis() {
+            return this.cpuNanos / 1_000_000;
+        }
+
+        private long allocatedMegabytes() {
+            return this.allocatedBytes / (1024 * 1024);
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.selimhorri.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import com.selimhorri.app.cache.UsernameCacheInvalidator;
+import com.selimhorri.app.config.cache.CacheConfig;
+import com.selimhorri.app.config.cache.CacheInvalidationConfig;
+import com.selimhorri.app.security.PasswordHasher;
+import com.selimhorri.app.service.impl.AddressServiceImpl;
+import com.selimhorri.app.service.impl.CredentialServiceImpl;
+import com.selimhorri.app.service.impl.UserServiceImpl;
+import com.selimhorri.app.service.impl.VerificationTokenServiceImpl;
+
+/**
+ * Guards listing endpoints against N+1 regressions by counting the JDBC statements
+ * Hibernate prepares while serving each service call against the Flyway seed data.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({
+	UserServiceImpl.class,
+	CredentialServiceImpl.class,
+	AddressServiceImpl.class,
+	VerificationTokenServiceImpl.class,
+	UsernameCacheInvalidator.class,
+	CacheConfig.class,
+	CacheInvalidationConfig.class
+})
+class ListingStatementCountTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CredentialService credentialService;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private VerificationTokenService verificationTokenService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private <T> T assertStatementCount(final long maxStatements, final Supplier<T> call) {
+        entityManager.clear();
+        statistics.clear();
+
+        final T result = call.get();
+
+        assertNotNull(result);
+        assertTrue(statistics.getPrepareStatementCount() <= maxStatements,
+                () -> "expected at most " + maxStatements + " statements but was " + statistics.getPrepareStatementCount());
+        return result;
+    }
+
+    @Test
+    void findAllUsers_shouldUseSingleStatement() {
+        assertStatementCount(1, userService::findAll);
+    }
+
+    @Test
+    void findUsersPage_shouldNotIssueStatementPerUser() {
+        assertStatementCount(2, () -> userService.findAll(null, 10));
+    }
+
+    @Test
+    void findUsersByIds_shouldUseSingleStatement() {
+        assertStatementCount(1, () -> userService.findAllByIds(List.of(1, 2, 3, 4, 999)));
+    }
+
+    @Test
+    void findUserByUsername_shouldUseSingleStatement() {
+        assertStatementCount(1, () -> userService.findByUsername("selimhorri"));
+    }
+
+    @Test
+    void findCredentialByUsername_shouldUseSingleStatement() {
+        assertStatementCount(1, () -> credentialService.findByUsername("selimhorri"));
+    }
+
+    @Test
+    void findAllCredentials_shouldUseSingleStatement() {
+        assertStatementCount(1, credentialService::findAll);
+    }
+
+    @Test
+    void findAllAddresses_shouldNotIssueStatementPerAddress() {
+        assertStatementCount(2, addressService::findAll);
+    }
+
+    @Test
+    void findAllVerificationTokens_shouldNotIssueStatementPerToken() {
+        assertStatementCount(2, verificationTokenService::findAll);
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.selimhorri.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.cache.UsernameCacheInvalidator;
+import com.selimhorri.app.config.enconder.PasswordHashingProperties;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.repository.UserRepository;
+import com.selimhorri.app.security.PasswordHasher;
+import com.selimhorri.app.service.impl.CredentialServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * BCrypt must never run while the calling thread holds a transaction, and so a pooled
+ * connection. Runs outside a test transaction so only the service opens one.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CredentialServiceImpl.class, PasswordHashingTransactionTest.Config.class})
+class PasswordHashingTransactionTest {
+
+    private static final String PROBE_USERNAME = "hashing-probe";
+
+    /**
+     * Records, on the calling thread, whether a transaction was active each time it hashed.
+     */
+    static class RecordingPasswordHasher extends PasswordHasher {
+
+        private final List<Boolean> transactionActive = new CopyOnWriteArrayList<>();
+
+        RecordingPasswordHasher() {
+            super(new BCryptPasswordEncoder(5), new PasswordHashingProperties(), new SimpleMeterRegistry());
+        }
+
+        @Override
+        public String encode(final CharSequence rawPassword) {
+            transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return super.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+            transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return super.matches(rawPassword, encodedPassword);
+        }
+
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        RecordingPasswordHasher passwordHasher() {
+            return new RecordingPasswordHasher();
+        }
+
+    }
+
+    @Autowired
+    private CredentialService credentialService;
+
+    @Autowired
+    private RecordingPasswordHasher passwordHasher;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private UsernameCacheInvalidator usernameCacheInvalidator;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM credentials WHERE username = ?", PROBE_USERNAME);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", PROBE_USERNAME + "@example.com");
+        passwordHasher.transactionActive.clear();
+    }
+
+    private CredentialDto saveProbe(final String password) {
+        final User user = userRepository.save(User.builder()
+                .firstName("hashing")
+                .lastName("probe")
+                .email(PROBE_USERNAME + "@example.com")
+                .phone("0000000000")
+                .build());
+        return credentialService.save(CredentialDto.builder()
+                .username(PROBE_USERNAME)
+                .password(password)
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                .isEnabled(true)
+                .isAccountNonExpired(true)
+                .isAccountNonLocked(true)
+                .isCredentialsNonExpired(true)
+                .userDto(UserDto.builder().userId(user.getUserId()).build())
+                .build());
+    }
+
+    private String storedPassword() {
+        return jdbcTemplate.queryForObject("SELECT password FROM credentials WHERE username = ?",
+                String.class, PROBE_USERNAME);
+    }
+
+    @Test
+    void save_shouldHashWithNoTransactionOpen() {
+        saveProbe("secret");
+
+        assertEquals(List.of(false), passwordHasher.transactionActive);
+        assertTrue(PasswordHasher.isEncoded(storedPassword()));
+    }
+
+    @Test
+    void update_shouldHashWithNoTransactionOpen() {
+        final CredentialDto saved = saveProbe("secret");
+        final String previous = storedPassword();
+        passwordHasher.transactionActive.clear();
+
+        saved.setPassword("changed");
+        credentialService.update(saved.getCredentialId(), saved);
+
+        assertEquals(List.of(false), passwordHasher.transactionActive);
+        assertNotEquals(previous, storedPassword());
+        assertTrue(new BCryptPasswordEncoder().matches("changed", storedPassword()));
+    }
+
+    @Test
+    void verify_shouldHashWithNoTransactionOpen() {
+        saveProbe("secret");
+        jdbcTemplate.update("UPDATE credentials SET password = ? WHERE username = ?",
+                new BCryptPasswordEncoder(4).encode("secret"), PROBE_USERNAME);
+        passwordHasher.transactionActive.clear();
+
+        assertTrue(credentialService.verify(PROBE_USERNAME, "secret"));
+
+        // the match, then the cost upgrade
+        assertEquals(List.of(false, false), passwordHasher.transactionActive);
+        assertTrue(storedPassword().startsWith("$2a$05$"));
+    }
+
+}
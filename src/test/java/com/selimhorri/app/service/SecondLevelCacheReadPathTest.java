@@ -0,0 +1,121 @@
+package com.selimhorri.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.cache.UsernameCacheInvalidator;
+import com.selimhorri.app.config.cache.SecondLevelCacheConfig;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.security.PasswordHasher;
+import com.selimhorri.app.service.impl.CredentialServiceImpl;
+import com.selimhorri.app.service.impl.UserServiceImpl;
+
+/**
+ * Checks that the by-id and by-username service reads are served from the second-level cache
+ * once warm. Runs outside a test transaction for the reason given on SecondLevelCacheTest, and
+ * without the Spring by-username caches so every call reaches Hibernate.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SecondLevelCacheConfig.class, UserServiceImpl.class, CredentialServiceImpl.class})
+class SecondLevelCacheReadPathTest {
+
+    private static final String USERNAME = "selimhorri";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CredentialService credentialService;
+
+    @MockBean
+    private PasswordHasher passwordHasher;
+
+    @MockBean
+    private UsernameCacheInvalidator usernameCacheInvalidator;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    private long hits(final String region) {
+        return statistics.getCacheRegionStatistics(region).getHitCount();
+    }
+
+    @Test
+    void findCredentialById_shouldBeServedFromRegions() {
+        final CredentialDto cold = credentialService.findById(1);
+        statistics.clear();
+
+        final CredentialDto warm = credentialService.findById(1);
+
+        assertEquals(cold, warm);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, hits(AppConstant.CacheRegion.CREDENTIALS));
+        assertEquals(1, hits(AppConstant.CacheRegion.USERS));
+    }
+
+    @Test
+    void findCredentialByUsername_shouldBeServedFromQueryCache() {
+        final CredentialDto cold = credentialService.findByUsername(USERNAME);
+        statistics.clear();
+
+        final CredentialDto warm = credentialService.findByUsername(USERNAME);
+
+        assertEquals(cold, warm);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, hits(AppConstant.CacheRegion.CREDENTIALS_BY_USERNAME_QUERY));
+        assertEquals(1, hits(AppConstant.CacheRegion.CREDENTIALS));
+        assertEquals(1, hits(AppConstant.CacheRegion.USERS));
+    }
+
+    @Test
+    void findUserById_shouldServeUserFromRegion() {
+        final UserDto cold = userService.findById(1);
+        statistics.clear();
+
+        final UserDto warm = userService.findById(1);
+
+        assertEquals(cold, warm);
+        assertEquals(1, hits(AppConstant.CacheRegion.USERS));
+        // the credential is the inverse side, looked up by user_id rather than by id
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findUserByUsername_shouldBeServedFromQueryCache() {
+        final UserDto cold = userService.findByUsername(USERNAME);
+        statistics.clear();
+
+        final UserDto warm = userService.findByUsername(USERNAME);
+
+        assertEquals(cold, warm);
+        assertEquals(1, hits(AppConstant.CacheRegion.USERS_BY_USERNAME_QUERY));
+        assertEquals(1, hits(AppConstant.CacheRegion.USERS));
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.selimhorri.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.app.service.impl.UserExportServiceImpl;
+
+@DataJpaTest
+@Import({ UserExportServiceImpl.class, MapperConfig.class })
+class UserExportServiceTest {
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportNdjson_shouldWriteOneLinePerUserWithCredentialAndAddresses() throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        final long exported = userExportService.exportNdjson(outputStream);
+
+        final String body = outputStream.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        final List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n"))
+            lines.add(objectMapper.readTree(line));
+
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class), exported);
+        assertEquals(exported, lines.size());
+        for (int i = 1; i < lines.size(); i++)
+            assertTrue(lines.get(i - 1).get("userId").asInt() < lines.get(i).get("userId").asInt());
+
+        final JsonNode first = lines.get(0);
+        assertEquals(1, first.get("userId").asInt());
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM address WHERE user_id = 1", Integer.class), 
+                first.get("addresses").size());
+        assertEquals(jdbcTemplate.queryForObject("SELECT username FROM credentials WHERE user_id = 1", String.class), 
+                first.get("credential").get("username").asText());
+        assertFalse(first.get("credential").has("password"));
+        assertNotNull(first.get("createdAt").textValue());
+    }
+
+    @Test
+    void exportNdjson_shouldKeepUsersWithoutCredentialOrAddresses() throws Exception {
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name) VALUES ('Export', 'Orphan')");
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        userExportService.exportNdjson(outputStream);
+
+        final String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        final JsonNode last = objectMapper.readTree(lines[lines.length - 1]);
+        assertEquals("Orphan", last.get("lastName").asText());
+        assertTrue(last.get("credential").isNull());
+        assertEquals(0, last.get("addresses").size());
+    }
+
+}
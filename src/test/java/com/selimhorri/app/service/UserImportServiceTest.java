@@ -0,0 +1,156 @@
+package com.selimhorri.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.cache.UsernameCacheInvalidator;
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.dto.response.DtoImportReport;
+import com.selimhorri.app.repository.CredentialRepository;
+import com.selimhorri.app.repository.UserRepository;
+import com.selimhorri.app.service.impl.UserImportServiceImpl;
+
+/**
+ * Runs outside a test transaction: the importer commits every chunk on its own.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ UserImportServiceImpl.class, MapperConfig.class })
+class UserImportServiceTest {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CredentialRepository credentialRepository;
+
+    @MockBean
+    private UsernameCacheInvalidator usernameCacheInvalidator;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE last_name LIKE 'Import%'");
+    }
+
+    private int imported() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE last_name LIKE 'Import%'", Integer.class);
+    }
+
+    @Test
+    void importNdjson_shouldInsertAcrossChunksAndReportBadRows() {
+        final int rows = AppConstant.IMPORT_CHUNK_SIZE * 2 + 5;
+        final String body = IntStream.rangeClosed(1, rows)
+                .mapToObj(i -> i == 7 ? "{not json" 
+                        : i == 9 ? "{\"firstName\":\"NoLastName\"}" 
+                        : String.format("{\"firstName\":\"First%d\",\"lastName\":\"Import%d\",\"email\":\"u%d@x.io\","
+                                + "\"credential\":{\"username\":\"import%d\"}}", i, i, i, i))
+                .collect(Collectors.joining("\n"));
+
+        final DtoImportReport report = userImportService.importNdjson(new StringReader(body));
+
+        assertEquals(rows, report.getReceived());
+        assertEquals(rows - 2, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(7, report.getErrors().get(0).getRow());
+        assertEquals(9, report.getErrors().get(1).getRow());
+        assertEquals(rows - 2, imported());
+        assertEquals(rows - 2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM credentials c "
+                + "JOIN users u ON u.user_id = c.user_id WHERE c.username = CONCAT('import', SUBSTRING(u.last_name, 7))",
+                Integer.class));
+    }
+
+    @Test
+    void importNdjson_shouldCreateCredentialsSoUsersAreReadable() {
+        final String hash = new BCryptPasswordEncoder(4).encode("secret");
+        final String body = String.join("\n",
+                "{\"firstName\":\"Hashed\",\"lastName\":\"Import1\",\"credential\":{\"username\":\"import-hashed\","
+                        + "\"password\":\"" + hash + "\",\"roleBasedAuthority\":\"ROLE_ADMIN\"}}",
+                "{\"firstName\":\"NoPassword\",\"lastName\":\"Import2\",\"credential\":{\"username\":\"import-pending\"}}",
+                "{\"firstName\":\"Raw\",\"lastName\":\"Import3\",\"credential\":{\"username\":\"import-raw\",\"password\":\"secret\"}}",
+                "{\"firstName\":\"NoCredential\",\"lastName\":\"Import4\"}",
+                "{\"firstName\":\"Taken\",\"lastName\":\"Import5\",\"credential\":{\"username\":\"selimhorri\"}}");
+
+        final DtoImportReport report = userImportService.importNdjson(new StringReader(body));
+
+        assertEquals(2, report.getImported());
+        assertEquals(List.of(3L, 4L, 5L), report.getErrors().stream()
+                .map(DtoImportReport.RowError::getRow)
+                .collect(Collectors.toList()));
+        assertEquals("password must be a BCrypt hash", report.getErrors().get(0).getMessage());
+        assertEquals("username is required", report.getErrors().get(1).getMessage());
+        // the duplicate username rolled its user back along with the credential
+        assertEquals(2, imported());
+
+        assertEquals("Hashed", userRepository.findByCredentialUsername("import-hashed").orElseThrow().getFirstName());
+        assertEquals("NoPassword", userRepository.findByCredentialUsername("import-pending").orElseThrow().getFirstName());
+
+        final Credential hashed = credentialRepository.findWithUserByUsername("import-hashed").orElseThrow();
+        assertEquals(hash, hashed.getPassword());
+        assertEquals(RoleBasedAuthority.ROLE_ADMIN, hashed.getRoleBasedAuthority());
+        assertTrue(hashed.getIsEnabled());
+
+        final Credential pending = credentialRepository.findWithUserByUsername("import-pending").orElseThrow();
+        assertNull(pending.getPassword());
+        assertEquals(RoleBasedAuthority.ROLE_USER, pending.getRoleBasedAuthority());
+        assertFalse(pending.getIsEnabled());
+        // the duplicate failed the chunk, so the rows were committed, and invalidated, one by one
+        verify(usernameCacheInvalidator).invalidateCredential(null, "import-hashed");
+        verify(usernameCacheInvalidator).invalidateCredential(null, "import-pending");
+        verify(usernameCacheInvalidator, never()).invalidateCredential(null, "selimhorri");
+    }
+
+    @Test
+    void importCsv_shouldMapColumnsByHeaderAndIsolateRowsRejectedByDatabase() {
+        final String tooLong = "x".repeat(300);
+        final String body = "lastName,firstName,phone,username\n"
+                + "Import1,\"Doe, John\",+1,import1\n"
+                + "\n"
+                + "Import2,Jane,\"" + tooLong + "\",import2\n"
+                + "Import3,\"Say \"\"hi\"\"\",,import3\n";
+
+        final DtoImportReport report = userImportService.importCsv(new StringReader(body));
+
+        assertEquals(3, report.getReceived());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getErrors().get(0).getRow());
+        assertEquals("Doe, John", jdbcTemplate.queryForObject(
+                "SELECT first_name FROM users WHERE last_name = 'Import1'", String.class));
+        assertEquals("Say \"hi\"", jdbcTemplate.queryForObject(
+                "SELECT first_name FROM users WHERE last_name = 'Import3'", String.class));
+    }
+
+    @Test
+    void importCsv_shouldRejectHeaderWithoutRequiredColumns() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userImportService.importCsv(new StringReader("name,phone\nJohn,+1\n")));
+        assertThrows(IllegalArgumentException.class,
+                () -> userImportService.importCsv(new StringReader("firstName,lastName\nJohn,Import1\n")));
+        assertEquals(0, imported());
+    }
+
+}
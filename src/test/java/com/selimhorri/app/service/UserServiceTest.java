@@ -3,11 +3,18 @@ package com.selimhorri.app.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static com.selimhorri.app.repository.projection.ProjectionFixtures.userView;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityNotFoundException;
 
@@ -17,7 +24,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import com.selimhorri.app.cache.UsernameCacheInvalidator;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.RoleBasedAuthority;
 import com.selimhorri.app.domain.User;
@@ -25,6 +35,7 @@ import com.selimhorri.app.domain.VerificationToken;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
+import com.selimhorri.app.exception.wrapper.VersionMismatchException;
 import com.selimhorri.app.helper.UserMappingHelper;
 import com.selimhorri.app.repository.CredentialRepository;
 import com.selimhorri.app.repository.UserRepository;
@@ -39,6 +50,9 @@ public class UserServiceTest {
     @Mock
     private CredentialRepository credentialRepository;
     
+    @Mock
+    private UsernameCacheInvalidator usernameCacheInvalidator;
+    
     @InjectMocks
     private UserServiceImpl userService;
     
@@ -207,23 +221,62 @@ public class UserServiceTest {
     
     @Test
     void findAll_shouldReturnListOfUsersWithCredentials() {
-        when(userRepository.findAll()).thenReturn(List.of(userWithCredential, userWithoutCredential));
+        when(userRepository.findAllViews()).thenReturn(List.of(userView(userWithCredential)));
         
         List<UserDto> result = userService.findAll();
         
         assertEquals(1, result.size());
         assertEquals(userWithCredential.getUserId(), result.get(0).getUserId());
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllViews();
     }
     
     @Test
     void findAll_shouldReturnEmptyListWhenNoUsersWithCredentials() {
-        when(userRepository.findAll()).thenReturn(List.of(userWithoutCredential));
+        when(userRepository.findAllViews()).thenReturn(List.of());
         
         List<UserDto> result = userService.findAll();
         
         assertTrue(result.isEmpty());
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllViews();
+    }
+    
+    @Test
+    void findAllPage_shouldQueryKeysetAfterCursor() {
+        when(userRepository.findPageViewsAfter(1, PageRequest.of(0, 10))).thenReturn(List.of(userView(userWithCredential)));
+        
+        List<UserDto> result = userService.findAll(1, 10);
+        
+        assertEquals(1, result.size());
+        assertEquals(userWithCredential.getUserId(), result.get(0).getUserId());
+        verify(userRepository, never()).findAllViews();
+    }
+    
+    @Test
+    void findAllPage_shouldStartFromBeginningAndCapLimit() {
+        when(userRepository.findPageViewsAfter(0, PageRequest.of(0, AppConstant.MAX_PAGE_SIZE))).thenReturn(List.of());
+        
+        List<UserDto> result = userService.findAll(null, AppConstant.MAX_PAGE_SIZE + 1);
+        
+        assertTrue(result.isEmpty());
+        verify(userRepository, times(1)).findPageViewsAfter(0, PageRequest.of(0, AppConstant.MAX_PAGE_SIZE));
+    }
+    
+    @Test
+    void findAllPage_shouldRejectNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> userService.findAll(null, 0));
+        verifyNoInteractions(userRepository);
+    }
+    
+    @Test
+    void streamAll_shouldMapEveryUserView() {
+        when(userRepository.streamAllViews()).thenReturn(Stream.of(userView(userWithCredential)));
+        List<UserDto> streamed = new ArrayList<>();
+        
+        userService.streamAll(streamed::add);
+        
+        assertEquals(1, streamed.size());
+        assertEquals("testuser", streamed.get(0).getCredentialDto().getUsername());
+        assertNull(streamed.get(0).getCredentialDto().getPassword());
     }
     
     @Test
@@ -254,6 +307,31 @@ public class UserServiceTest {
         verify(userRepository, times(1)).findById(2);
     }
     
+    @Test
+    void findAllByIds_shouldResolveIdsWithSingleQueryAndSkipMissing() {
+        when(userRepository.findViewsByIdIn(Set.of(99, 1))).thenReturn(List.of(userView(userWithCredential)));
+        
+        Map<Integer, UserDto> result = userService.findAllByIds(List.of(99, 1, 99));
+        
+        assertEquals(List.of(1), List.copyOf(result.keySet()));
+        assertEquals("testuser", result.get(1).getCredentialDto().getUsername());
+        verify(userRepository, times(1)).findViewsByIdIn(anyCollection());
+    }
+    
+    @Test
+    void findAllByIds_shouldNotQueryForEmptyInput() {
+        assertTrue(userService.findAllByIds(List.of()).isEmpty());
+        verifyNoInteractions(userRepository);
+    }
+    
+    @Test
+    void findAllByIds_shouldRejectTooManyIds() {
+        List<Integer> userIds = IntStream.rangeClosed(1, AppConstant.MAX_BATCH_SIZE + 1).boxed().collect(Collectors.toList());
+        
+        assertThrows(IllegalArgumentException.class, () -> userService.findAllByIds(userIds));
+        verifyNoInteractions(userRepository);
+    }
+    
     @Test
     void findByUsername_shouldReturnUserWithGivenUsername() {
         when(userRepository.findByCredentialUsername("testuser")).thenReturn(Optional.of(userWithCredential));
@@ -311,15 +389,16 @@ public class UserServiceTest {
                 .withPhone("9999999999")
                 .build();
         
-        when(userRepository.findById(1)).thenReturn(Optional.of(userWithCredential));
-        when(userRepository.save(any(User.class))).thenReturn(userWithCredential);
+        when(userRepository.findWithCredentialByUserId(1)).thenReturn(Optional.of(userWithCredential));
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(userWithCredential);
         
         UserDto result = userService.update(userDto);
         
         assertNotNull(result);
         assertEquals(1, result.getUserId());
-        verify(userRepository, times(1)).findById(1);
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(usernameCacheInvalidator, times(1)).invalidateUser(1, "testuser");
+        verify(userRepository, times(1)).findWithCredentialByUserId(1);
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
     }
     
     @Test
@@ -330,10 +409,10 @@ public class UserServiceTest {
                 .withLastName("Existent")
                 .build();
         
-        when(userRepository.findById(99)).thenReturn(Optional.empty());
+        when(userRepository.findWithCredentialByUserId(99)).thenReturn(Optional.empty());
         
         assertThrows(EntityNotFoundException.class, () -> userService.update(userDto));
-        verify(userRepository, times(1)).findById(99);
+        verify(userRepository, times(1)).findWithCredentialByUserId(99);
     }
     
     @Test
@@ -344,10 +423,10 @@ public class UserServiceTest {
                 .withLastName("Credential")
                 .build();
         
-        when(userRepository.findById(2)).thenReturn(Optional.of(userWithoutCredential));
+        when(userRepository.findWithCredentialByUserId(2)).thenReturn(Optional.of(userWithoutCredential));
         
         assertThrows(EntityNotFoundException.class, () -> userService.update(userDto));
-        verify(userRepository, times(1)).findById(2);
+        verify(userRepository, times(1)).findWithCredentialByUserId(2);
     }
     
     @Test
@@ -359,42 +438,61 @@ public class UserServiceTest {
                 .withPhone("9999999999")
                 .build();
         
-        when(userRepository.findById(1)).thenReturn(Optional.of(userWithCredential));
-        when(userRepository.save(any(User.class))).thenReturn(userWithCredential);
+        when(userRepository.findWithCredentialByUserId(1)).thenReturn(Optional.of(userWithCredential));
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(userWithCredential);
         
         UserDto result = userService.update(1, userDto);
         
         assertNotNull(result);
         assertEquals(1, result.getUserId());
-        verify(userRepository, times(1)).findById(1);
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(usernameCacheInvalidator, times(1)).invalidateUser(1, "testuser");
+        verify(userRepository, times(1)).findWithCredentialByUserId(1);
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+    }
+    
+    @Test
+    void updateWithUserId_shouldRejectStaleVersion() {
+        userWithCredential.setVersion(3L);
+        UserDto userDto = new UserDtoBuilder()
+                .withFirstName("Updated")
+                .withLastName("Name")
+                .build();
+        userDto.setVersion(2L);
+        
+        when(userRepository.findWithCredentialByUserId(1)).thenReturn(Optional.of(userWithCredential));
+        
+        assertThrows(VersionMismatchException.class, () -> userService.update(1, userDto));
+        assertNotEquals("Updated", userWithCredential.getFirstName());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+        verifyNoInteractions(usernameCacheInvalidator);
     }
     
     @Test
     void deleteById_shouldDeleteUserCredentials() {
-        when(userRepository.findById(1)).thenReturn(Optional.of(userWithCredential));
+        when(userRepository.findWithCredentialByUserId(1)).thenReturn(Optional.of(userWithCredential));
         doNothing().when(credentialRepository).deleteByCredentialId(1);
         
         userService.deleteById(1);
         
-        verify(userRepository, times(1)).findById(1);
+        verify(userRepository, times(1)).findWithCredentialByUserId(1);
+        verify(usernameCacheInvalidator, times(1)).invalidateCredential(1, "testuser");
         verify(userRepository, times(1)).save(any(User.class));
         verify(credentialRepository, times(1)).deleteByCredentialId(1);
     }
     
     @Test
     void deleteById_shouldThrowExceptionWhenUserNotFound() {
-        when(userRepository.findById(99)).thenReturn(Optional.empty());
+        when(userRepository.findWithCredentialByUserId(99)).thenReturn(Optional.empty());
         
         assertThrows(EntityNotFoundException.class, () -> userService.deleteById(99));
-        verify(userRepository, times(1)).findById(99);
+        verify(userRepository, times(1)).findWithCredentialByUserId(99);
     }
     
     @Test
     void deleteById_shouldThrowExceptionWhenUserHasNoCredentials() {
-        when(userRepository.findById(2)).thenReturn(Optional.of(userWithoutCredential));
+        when(userRepository.findWithCredentialByUserId(2)).thenReturn(Optional.of(userWithoutCredential));
         
         assertThrows(UserObjectNotFoundException.class, () -> userService.deleteById(2));
-        verify(userRepository, times(1)).findById(2);
+        verify(userRepository, times(1)).findWithCredentialByUserId(2);
     }
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.selimhorri.app.service;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static com.selimhorri.app.repository.projection.ProjectionFixtures.verificationTokenView;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,13 +16,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.VerificationToken;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.VerificationTokenDto;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
 import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
+import com.selimhorri.app.helper.TokenHashHelper;
 import com.selimhorri.app.helper.VerificationTokenMappingHelper;
 import com.selimhorri.app.repository.CredentialRepository;
 import com.selimhorri.app.repository.VerificationTokenRepository;
@@ -116,43 +121,82 @@ public class VerificationTokenServiceTest {
     
     @Test
     void findAll_shouldReturnListOfVerificationTokens() {
-        when(verificationTokenRepository.findAll()).thenReturn(List.of(verificationToken));
+        when(verificationTokenRepository.findAllViews()).thenReturn(List.of(verificationTokenView(verificationToken)));
         
         List<VerificationTokenDto> result = verificationTokenService.findAll();
         
         assertEquals(1, result.size());
         assertEquals(verificationToken.getVerificationTokenId(), result.get(0).getVerificationTokenId());
-        verify(verificationTokenRepository, times(1)).findAll();
+        verify(verificationTokenRepository, times(1)).findAllViews();
     }
     
     @Test
     void findAll_shouldReturnEmptyListWhenNoTokens() {
-        when(verificationTokenRepository.findAll()).thenReturn(List.of());
+        when(verificationTokenRepository.findAllViews()).thenReturn(List.of());
         
         List<VerificationTokenDto> result = verificationTokenService.findAll();
         
         assertTrue(result.isEmpty());
-        verify(verificationTokenRepository, times(1)).findAll();
+        verify(verificationTokenRepository, times(1)).findAllViews();
+    }
+    
+    @Test
+    void findAllPage_shouldQueryKeysetAfterCursor() {
+        when(verificationTokenRepository.findPageViewsAfter(1, PageRequest.of(0, 10))).thenReturn(List.of(verificationTokenView(verificationToken)));
+        
+        List<VerificationTokenDto> result = verificationTokenService.findAll(1, 10);
+        
+        assertEquals(1, result.size());
+        assertEquals(verificationToken.getVerificationTokenId(), result.get(0).getVerificationTokenId());
+        verify(verificationTokenRepository, never()).findAllViews();
+    }
+    
+    @Test
+    void findAllPage_shouldStartFromBeginningAndCapLimit() {
+        when(verificationTokenRepository.findPageViewsAfter(0, PageRequest.of(0, AppConstant.MAX_PAGE_SIZE))).thenReturn(List.of());
+        
+        List<VerificationTokenDto> result = verificationTokenService.findAll(null, AppConstant.MAX_PAGE_SIZE + 1);
+        
+        assertTrue(result.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> verificationTokenService.findAll(null, 0));
     }
     
     @Test
     void findById_shouldReturnTokenWhenFound() {
-        when(verificationTokenRepository.findById(1)).thenReturn(Optional.of(verificationToken));
+        when(verificationTokenRepository.findViewById(1)).thenReturn(Optional.of(verificationTokenView(verificationToken)));
         
         VerificationTokenDto result = verificationTokenService.findById(1);
         
         assertNotNull(result);
         assertEquals(verificationToken.getVerificationTokenId(), result.getVerificationTokenId());
-        assertEquals("test-token", result.getToken());
-        verify(verificationTokenRepository, times(1)).findById(1);
+        assertNull(result.getToken());
+        verify(verificationTokenRepository, times(1)).findViewById(1);
     }
     
     @Test
     void findById_shouldThrowExceptionWhenNotFound() {
-        when(verificationTokenRepository.findById(99)).thenReturn(Optional.empty());
+        when(verificationTokenRepository.findViewById(99)).thenReturn(Optional.empty());
         
         assertThrows(VerificationTokenNotFoundException.class, () -> verificationTokenService.findById(99));
-        verify(verificationTokenRepository, times(1)).findById(99);
+        verify(verificationTokenRepository, times(1)).findViewById(99);
+    }
+    
+    @Test
+    void findByToken_shouldLookUpByTokenHash() {
+        when(verificationTokenRepository.findViewsByTokenHash(aryEq(TokenHashHelper.hash("test-token"))))
+                .thenReturn(List.of(verificationTokenView(verificationToken)));
+        
+        VerificationTokenDto result = verificationTokenService.findByToken("test-token");
+        
+        assertEquals(verificationToken.getVerificationTokenId(), result.getVerificationTokenId());
+        assertNull(result.getToken());
+    }
+    
+    @Test
+    void findByToken_shouldThrowExceptionWhenNotFound() {
+        when(verificationTokenRepository.findViewsByTokenHash(any())).thenReturn(List.of());
+        
+        assertThrows(VerificationTokenNotFoundException.class, () -> verificationTokenService.findByToken("unknown"));
     }
     
     @Test
@@ -178,6 +222,22 @@ public class VerificationTokenServiceTest {
         verify(verificationTokenRepository, times(1)).save(any(VerificationToken.class));
     }
     
+    @Test
+    void save_shouldReturnIssuedTokenValue() {
+        VerificationTokenDto tokenDto = new VerificationTokenDtoBuilder()
+                .withToken("new-token")
+                .withExpireDate(LocalDate.now().plusDays(2))
+                .withCredentialDto(new CredentialDtoBuilder().withCredentialId(1).build())
+                .build();
+        
+        when(credentialRepository.findById(1)).thenReturn(Optional.of(credential));
+        when(verificationTokenRepository.save(any(VerificationToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        VerificationTokenDto result = verificationTokenService.save(tokenDto);
+        
+        assertEquals("new-token", result.getToken());
+    }
+    
     @Test
     void save_shouldThrowExceptionWhenCredentialIdIsNull() {
         VerificationTokenDto tokenDto = new VerificationTokenDtoBuilder()
@@ -213,15 +273,33 @@ public class VerificationTokenServiceTest {
                 .withExpireDate(LocalDate.now().plusDays(3))
                 .build();
         
-        when(verificationTokenRepository.findById(1)).thenReturn(Optional.of(verificationToken));
-        when(verificationTokenRepository.save(any(VerificationToken.class))).thenReturn(verificationToken);
+        when(verificationTokenRepository.findWithCredentialByVerificationTokenId(1)).thenReturn(Optional.of(verificationToken));
+        when(verificationTokenRepository.saveAndFlush(any(VerificationToken.class))).thenReturn(verificationToken);
         
         VerificationTokenDto result = verificationTokenService.update(tokenDto);
         
         assertNotNull(result);
         assertEquals(1, result.getVerificationTokenId());
-        verify(verificationTokenRepository, times(1)).findById(1);
-        verify(verificationTokenRepository, times(1)).save(any(VerificationToken.class));
+        verify(verificationTokenRepository, times(1)).findWithCredentialByVerificationTokenId(1);
+        verify(verificationTokenRepository, times(1)).saveAndFlush(any(VerificationToken.class));
+    }
+    
+    @Test
+    void update_shouldModifyManagedTokenInsteadOfMergingDetachedCopy() {
+        VerificationTokenDto tokenDto = new VerificationTokenDtoBuilder()
+                .withVerificationTokenId(1)
+                .withToken("updated-token")
+                .withExpireDate(LocalDate.now().plusDays(3))
+                .build();
+        
+        when(verificationTokenRepository.findWithCredentialByVerificationTokenId(1)).thenReturn(Optional.of(verificationToken));
+        when(verificationTokenRepository.saveAndFlush(any(VerificationToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        verificationTokenService.update(tokenDto);
+        
+        verify(verificationTokenRepository, times(1)).saveAndFlush(same(verificationToken));
+        assertEquals("updated-token", verificationToken.getToken());
+        assertEquals(LocalDate.now().plusDays(3), verificationToken.getExpireDate());
     }
     
     @Test
@@ -236,15 +314,15 @@ public class VerificationTokenServiceTest {
                 .withCredentialDto(newCredentialDto) // Credencial diferente
                 .build();
         
-        when(verificationTokenRepository.findById(1)).thenReturn(Optional.of(verificationToken));
-        when(verificationTokenRepository.save(any(VerificationToken.class))).thenReturn(verificationToken);
+        when(verificationTokenRepository.findWithCredentialByVerificationTokenId(1)).thenReturn(Optional.of(verificationToken));
+        when(verificationTokenRepository.saveAndFlush(any(VerificationToken.class))).thenReturn(verificationToken);
         
         VerificationTokenDto result = verificationTokenService.update(tokenDto);
         
         // Verificar que la credencial original se mantuvo
         assertEquals(1, verificationToken.getCredential().getCredentialId());
-        verify(verificationTokenRepository, times(1)).findById(1);
-        verify(verificationTokenRepository, times(1)).save(any(VerificationToken.class));
+        verify(verificationTokenRepository, times(1)).findWithCredentialByVerificationTokenId(1);
+        verify(verificationTokenRepository, times(1)).saveAndFlush(any(VerificationToken.class));
     }
     
     @Test
@@ -254,15 +332,15 @@ public class VerificationTokenServiceTest {
                 .withExpireDate(LocalDate.now().plusDays(3))
                 .build();
         
-        when(verificationTokenRepository.findById(1)).thenReturn(Optional.of(verificationToken));
-        when(verificationTokenRepository.save(any(VerificationToken.class))).thenReturn(verificationToken);
+        when(verificationTokenRepository.findWithCredentialByVerificationTokenId(1)).thenReturn(Optional.of(verificationToken));
+        when(verificationTokenRepository.saveAndFlush(any(VerificationToken.class))).thenReturn(verificationToken);
         
         VerificationTokenDto result = verificationTokenService.update(1, tokenDto);
         
         assertNotNull(result);
         assertEquals(1, result.getVerificationTokenId());
-        verify(verificationTokenRepository, times(1)).findById(1);
-        verify(verificationTokenRepository, times(1)).save(any(VerificationToken.class));
+        verify(verificationTokenRepository, times(1)).findWithCredentialByVerificationTokenId(1);
+        verify(verificationTokenRepository, times(1)).saveAndFlush(any(VerificationToken.class));
     }
     
     @Test